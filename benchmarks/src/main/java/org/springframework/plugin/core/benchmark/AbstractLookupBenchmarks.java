@@ -0,0 +1,72 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core.benchmark;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the lookup methods of {@link org.springframework.plugin.core.PluginRegistry}. Subclasses define the
+ * number of threads to run them with.
+ *
+ * @author Oliver Drotbohm
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public abstract class AbstractLookupBenchmarks {
+
+	@Benchmark
+	public Optional<SyntheticPlugin> getPluginFor(RegistryState state, DelimiterCursor cursor) {
+		return state.registry.getPluginFor(cursor.next(state));
+	}
+
+	@Benchmark
+	public List<SyntheticPlugin> getPluginsFor(RegistryState state, DelimiterCursor cursor) {
+		return state.registry.getPluginsFor(cursor.next(state));
+	}
+
+	@Benchmark
+	public boolean hasPluginFor(RegistryState state, DelimiterCursor cursor) {
+		return state.registry.hasPluginFor(cursor.next(state));
+	}
+
+	@Benchmark
+	public Object getRequiredPluginFor(RegistryState state, DelimiterCursor cursor) {
+
+		try {
+			return state.registry.getRequiredPluginFor(cursor.next(state));
+		} catch (IllegalArgumentException o_O) {
+			return o_O;
+		}
+	}
+
+	@Benchmark
+	public SyntheticPlugin getPluginOrDefaultFor(RegistryState state, DelimiterCursor cursor) {
+		return state.registry.getPluginOrDefaultFor(cursor.next(state), state.fallback);
+	}
+}
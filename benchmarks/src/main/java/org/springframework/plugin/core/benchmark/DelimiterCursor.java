@@ -0,0 +1,47 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core.benchmark;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Per-thread cursor over the delimiters of a {@link RegistryState} so that concurrent benchmark threads don't contend
+ * on a shared index.
+ *
+ * @author Oliver Drotbohm
+ */
+@State(Scope.Thread)
+public class DelimiterCursor {
+
+	private int index;
+
+	/**
+	 * Returns the next delimiter of the given {@link RegistryState}.
+	 *
+	 * @param state must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	Integer next(RegistryState state) {
+
+		Integer[] delimiters = state.delimiters;
+		Integer delimiter = delimiters[index];
+
+		index = (index + 1) & (delimiters.length - 1);
+
+		return delimiter;
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core.benchmark;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.plugin.core.OrderAwarePluginRegistry;
+
+/**
+ * Shared benchmark state holding an {@link OrderAwarePluginRegistry} of {@link SyntheticPlugin}s and the delimiters to
+ * look up. Varies the number of plugins, the hit ratio of the delimiters, the cost of {@code supports(…)} and the way
+ * the registry is created.
+ *
+ * @author Oliver Drotbohm
+ */
+@State(Scope.Benchmark)
+public class RegistryState {
+
+	private static final int DELIMITER_COUNT = 1024;
+
+	@Param({ "1", "10", "100", "1000", "10000" }) int pluginCount;
+	@Param({ "1.0", "0.5", "0.0" }) double hitRatio;
+	@Param({ "0", "20" }) int supportsCost;
+	@Param({ "LIST", "SUPPLIER" }) Backing backing;
+
+	OrderAwarePluginRegistry<SyntheticPlugin, Integer> registry;
+	SyntheticPlugin fallback;
+	Integer[] delimiters;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+
+		List<SyntheticPlugin> plugins = SyntheticPlugins.create(pluginCount, supportsCost);
+
+		this.registry = backing.create(plugins);
+		this.fallback = SyntheticPlugins.create(1, 0).get(0);
+		this.delimiters = SyntheticPlugins.delimiters(pluginCount, hitRatio, DELIMITER_COUNT, 42);
+	}
+
+	/**
+	 * The way the {@link OrderAwarePluginRegistry} under test is created.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	public enum Backing {
+
+		/**
+		 * Uses {@link OrderAwarePluginRegistry#of(List)}.
+		 */
+		LIST(OrderAwarePluginRegistry::of),
+
+		/**
+		 * Uses {@link OrderAwarePluginRegistry#of(java.util.function.Supplier)}.
+		 */
+		SUPPLIER(plugins -> OrderAwarePluginRegistry.of(() -> plugins));
+
+		private final Function<List<SyntheticPlugin>, OrderAwarePluginRegistry<SyntheticPlugin, Integer>> factory;
+
+		Backing(Function<List<SyntheticPlugin>, OrderAwarePluginRegistry<SyntheticPlugin, Integer>> factory) {
+			this.factory = factory;
+		}
+
+		OrderAwarePluginRegistry<SyntheticPlugin, Integer> create(List<SyntheticPlugin> plugins) {
+			return factory.apply(plugins);
+		}
+	}
+}
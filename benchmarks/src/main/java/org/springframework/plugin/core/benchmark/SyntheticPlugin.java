@@ -0,0 +1,33 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core.benchmark;
+
+import org.springframework.plugin.core.Plugin;
+
+/**
+ * Plugin type used throughout the benchmarks. Implementations are created via {@link SyntheticPlugins}.
+ *
+ * @author Oliver Drotbohm
+ */
+public interface SyntheticPlugin extends Plugin<Integer> {
+
+	/**
+	 * Returns the key the plugin supports.
+	 *
+	 * @return
+	 */
+	int getKey();
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Generators for synthetic {@link SyntheticPlugin}s and delimiters to be reused across benchmark suites. The plugin
+ * with index {@code i} supports the delimiter {@code i} only. Plugins are spread across multiple implementation
+ * classes so that the {@code supports(…)} call site inside a registry is megamorphic, just like in real-world
+ * applications.
+ *
+ * @author Oliver Drotbohm
+ */
+public final class SyntheticPlugins {
+
+	private SyntheticPlugins() {}
+
+	/**
+	 * Creates the given number of plugins, each of them burning the given amount of CPU tokens per
+	 * {@code supports(…)} invocation.
+	 *
+	 * @param count the number of plugins to create.
+	 * @param supportsCost the CPU tokens to consume per {@code supports(…)} invocation, {@literal 0} for none.
+	 * @return will never be {@literal null}.
+	 * @see Blackhole#consumeCPU(long)
+	 */
+	public static List<SyntheticPlugin> create(int count, int supportsCost) {
+
+		List<SyntheticPlugin> plugins = new ArrayList<>(count);
+
+		for (int i = 0; i < count; i++) {
+			plugins.add(switch (i % 4) {
+				case 0 -> new First(i, supportsCost);
+				case 1 -> new Second(i, supportsCost);
+				case 2 -> new Third(i, supportsCost);
+				default -> new Fourth(i, supportsCost);
+			});
+		}
+
+		return plugins;
+	}
+
+	/**
+	 * Creates the given number of delimiters of which the given ratio is supported by one of {@code pluginCount}
+	 * plugins created via {@link #create(int, int)}. The delimiters are pre-boxed so that benchmarks don't measure
+	 * boxing.
+	 *
+	 * @param pluginCount the number of plugins the delimiters are targeted at.
+	 * @param hitRatio the ratio of delimiters supported by a plugin, between {@literal 0} and {@literal 1}.
+	 * @param size the number of delimiters to create.
+	 * @param seed the seed for the random distribution.
+	 * @return will never be {@literal null}.
+	 */
+	public static Integer[] delimiters(int pluginCount, double hitRatio, int size, long seed) {
+
+		Random random = new Random(seed);
+		Integer[] delimiters = new Integer[size];
+
+		for (int i = 0; i < size; i++) {
+
+			int value = random.nextDouble() < hitRatio
+					? random.nextInt(pluginCount)
+					: pluginCount + random.nextInt(pluginCount + 1);
+
+			delimiters[i] = Integer.valueOf(value);
+		}
+
+		return delimiters;
+	}
+
+	// Every implementation overrides supports(…) to prevent the JIT from devirtualizing the call
+	private static abstract class AbstractSyntheticPlugin implements SyntheticPlugin {
+
+		private final int key;
+		private final int cost;
+
+		AbstractSyntheticPlugin(int key, int cost) {
+			this.key = key;
+			this.cost = cost;
+		}
+
+		@Override
+		public int getKey() {
+			return key;
+		}
+
+		boolean matches(Integer delimiter) {
+
+			if (cost > 0) {
+				Blackhole.consumeCPU(cost);
+			}
+
+			return delimiter.intValue() == key;
+		}
+
+		@Override
+		public String toString() {
+			return getClass().getSimpleName() + "(" + key + ")";
+		}
+	}
+
+	static final class First extends AbstractSyntheticPlugin {
+
+		First(int key, int cost) {
+			super(key, cost);
+		}
+
+		@Override
+		public boolean supports(Integer delimiter) {
+			return matches(delimiter);
+		}
+	}
+
+	static final class Second extends AbstractSyntheticPlugin {
+
+		Second(int key, int cost) {
+			super(key, cost);
+		}
+
+		@Override
+		public boolean supports(Integer delimiter) {
+			return matches(delimiter);
+		}
+	}
+
+	static final class Third extends AbstractSyntheticPlugin {
+
+		Third(int key, int cost) {
+			super(key, cost);
+		}
+
+		@Override
+		public boolean supports(Integer delimiter) {
+			return matches(delimiter);
+		}
+	}
+
+	static final class Fourth extends AbstractSyntheticPlugin {
+
+		Fourth(int key, int cost) {
+			super(key, cost);
+		}
+
+		@Override
+		public boolean supports(Integer delimiter) {
+			return matches(delimiter);
+		}
+	}
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Reorders the plugins of an order-insensitive registry by the frequency they are found by lookups, so that the plugins
+ * matching most often are evaluated first. Lookups only count hits, the actual reordering runs on a separate
+ * {@link Executor} roughly every {@code interval} hits and publishes a new {@link PluginSnapshot}. Hit counts are
+ * halved on every reordering so that the order adapts to changes in the distribution of delimiters.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ */
+final class AdaptiveOrdering {
+
+	private final int interval;
+	private final Executor executor;
+
+	/**
+	 * Creates a new {@link AdaptiveOrdering} reordering about every {@code interval} hits on the given {@link Executor}.
+	 *
+	 * @param interval must be greater than zero.
+	 * @param executor must not be {@literal null}.
+	 */
+	AdaptiveOrdering(int interval, Executor executor) {
+
+		Assert.isTrue(interval > 0, "Reordering interval must be greater than zero!");
+		Assert.notNull(executor, "Executor must not be null!");
+
+		this.interval = interval;
+		this.executor = executor;
+	}
+
+	/**
+	 * Returns whether the current hit should trigger a reordering. Decided randomly rather than by a shared counter so
+	 * that concurrent lookups don't contend.
+	 *
+	 * @return
+	 */
+	boolean shouldReorder() {
+		return interval == 1 || ThreadLocalRandom.current().nextInt(interval) == 0;
+	}
+
+	/**
+	 * Runs the given reordering task on the configured {@link Executor}, releasing the given {@link HitCounters} in case
+	 * the task is rejected.
+	 *
+	 * @param counters must not be {@literal null}.
+	 * @param task must not be {@literal null}.
+	 */
+	void execute(HitCounters<?> counters, Runnable task) {
+
+		try {
+			executor.execute(task);
+		} catch (RuntimeException o_O) {
+			counters.finishReordering();
+		}
+	}
+
+	/**
+	 * Hit counts for the plugins of a particular {@link PluginSnapshot}. The counters are looked up by plugin identity
+	 * in a map that is never modified after construction, so that recording a hit doesn't need any locking.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	static final class HitCounters<T> {
+
+		private final PluginSnapshot<T> snapshot;
+		private final Map<Object, LongAdder> hits;
+		private final AtomicBoolean reordering = new AtomicBoolean();
+
+		/**
+		 * Creates new {@link HitCounters} for the given {@link PluginSnapshot}, starting with zero hits for all plugins.
+		 *
+		 * @param snapshot must not be {@literal null}.
+		 */
+		HitCounters(PluginSnapshot<T> snapshot) {
+			this(snapshot, null);
+		}
+
+		private HitCounters(PluginSnapshot<T> snapshot, @Nullable HitCounters<T> previous) {
+
+			this.snapshot = snapshot;
+			this.hits = new IdentityHashMap<>(snapshot.size());
+
+			for (T plugin : snapshot.asList()) {
+
+				var counter = new LongAdder();
+
+				if (previous != null) {
+					counter.add(previous.getHits(plugin) / 2);
+				}
+
+				hits.put(plugin, counter);
+			}
+		}
+
+		/**
+		 * Returns whether the counters were created for the given {@link PluginSnapshot}.
+		 *
+		 * @param snapshot must not be {@literal null}.
+		 * @return
+		 */
+		boolean belongsTo(PluginSnapshot<T> snapshot) {
+			return this.snapshot == snapshot;
+		}
+
+		/**
+		 * Returns the {@link PluginSnapshot} the counters were created for.
+		 *
+		 * @return will never be {@literal null}.
+		 */
+		PluginSnapshot<T> getSnapshot() {
+			return snapshot;
+		}
+
+		/**
+		 * Records a hit for the given plugin.
+		 *
+		 * @param plugin must not be {@literal null}.
+		 */
+		void recordHit(Object plugin) {
+
+			LongAdder counter = hits.get(plugin);
+
+			if (counter != null) {
+				counter.increment();
+			}
+		}
+
+		/**
+		 * Claims the right to reorder the snapshot.
+		 *
+		 * @return whether the caller is supposed to reorder the snapshot.
+		 */
+		boolean startReordering() {
+			return !reordering.get() && reordering.compareAndSet(false, true);
+		}
+
+		/**
+		 * Releases the right to reorder the snapshot.
+		 */
+		void finishReordering() {
+			reordering.set(false);
+		}
+
+		/**
+		 * Returns a {@link PluginSnapshot} with the plugins ordered by descending hit count, keeping the current order for
+		 * plugins with the same count.
+		 *
+		 * @return the reordered {@link PluginSnapshot} or {@literal null} if the order wouldn't change.
+		 */
+		@Nullable
+		PluginSnapshot<T> reorder() {
+
+			List<T> plugins = snapshot.asList();
+			int size = plugins.size();
+
+			// Sort by a copy of the counts as lookups keep incrementing them concurrently
+			long[] counts = new long[size];
+			Integer[] positions = new Integer[size];
+
+			for (int i = 0; i < size; i++) {
+				counts[i] = getHits(plugins.get(i));
+				positions[i] = i;
+			}
+
+			Arrays.sort(positions, (left, right) -> Long.compare(counts[right], counts[left]));
+
+			for (int i = 0; i < size; i++) {
+
+				if (positions[i] != i) {
+
+					List<T> reordered = new ArrayList<>(size);
+
+					for (Integer position : positions) {
+						reordered.add(plugins.get(position));
+					}
+
+					return PluginSnapshot.of(reordered);
+				}
+			}
+
+			return null;
+		}
+
+		/**
+		 * Creates new {@link HitCounters} for the given reordered {@link PluginSnapshot}, carrying over half of the current
+		 * hit counts.
+		 *
+		 * @param snapshot must not be {@literal null}.
+		 * @return will never be {@literal null}.
+		 */
+		HitCounters<T> decay(PluginSnapshot<T> snapshot) {
+			return new HitCounters<>(snapshot, this);
+		}
+
+		private long getHits(Object plugin) {
+
+			LongAdder counter = hits.get(plugin);
+
+			return counter == null ? 0 : counter.sum();
+		}
+	}
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.util.CustomizableThreadCreator;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Asynchronous evaluation of {@link Plugin#supports(Object)} for a set of candidate plugins, forking one task per
+ * candidate. The decisions are joined in candidate order, so that the result is the same as for a sequential
+ * evaluation: an exception thrown by a candidate only fails the lookup if no earlier candidate already decided it.
+ * Once the result is known, all evaluations still outstanding are cancelled. Evaluations already running are only
+ * interrupted on the {@link #getDefaultExecutor() default executor}, as the threads of executors given by the caller
+ * aren't owned by the lookup. Completing or cancelling the returned {@link CompletableFuture} cancels the outstanding
+ * evaluations, too.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ */
+final class AsyncPluginLookup {
+
+	private static final byte PENDING = 0, UNSUPPORTED = 1, SUPPORTED = 2, FAILED = 3;
+
+	private static final SingletonSupplier<Executor> DEFAULT_EXECUTOR = SingletonSupplier
+			.of(AsyncPluginLookup::createDefaultExecutor);
+
+	private final Object[] candidates;
+	private final Predicate<Object> supports;
+	private final boolean firstOnly;
+	private final boolean interruptible;
+	private final CompletableFuture<boolean[]> result = new CompletableFuture<>();
+
+	// All guarded by this
+	private final byte[] decisions;
+	private final @Nullable Thread[] running;
+	private final @Nullable Throwable[] failures;
+	private int next;
+	private boolean terminated;
+
+	private AsyncPluginLookup(Object[] candidates, Predicate<Object> supports, boolean firstOnly, boolean interruptible) {
+
+		this.candidates = candidates;
+		this.supports = supports;
+		this.firstOnly = firstOnly;
+		this.interruptible = interruptible;
+		this.decisions = new byte[candidates.length];
+		this.running = new Thread[candidates.length];
+		this.failures = new Throwable[candidates.length];
+	}
+
+	/**
+	 * Returns the {@link Executor} to evaluate plugins with if none is given explicitly. Uses virtual threads if the
+	 * runtime supports them, a bounded pool of daemon threads otherwise. As evaluations are expected to block, the pool
+	 * is sized beyond the number of processors, but bounded so that concurrent lookups queue up instead of creating a
+	 * thread per candidate.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	static Executor getDefaultExecutor() {
+		return DEFAULT_EXECUTOR.obtain();
+	}
+
+	/**
+	 * Evaluates all candidates concurrently using the given {@link Predicate} and completes with the result of applying
+	 * the given {@link Function} to the flags indicating which of the candidates matched. If {@code firstOnly} is
+	 * {@literal true}, completes as soon as the earliest matching candidate is known, leaving the flags of later
+	 * candidates unset.
+	 *
+	 * @param candidates must not be {@literal null}.
+	 * @param supports the {@link Predicate} to evaluate a candidate with, must not be {@literal null}.
+	 * @param firstOnly whether only the earliest supporting candidate is of interest.
+	 * @param executor must not be {@literal null}.
+	 * @param mapper must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	static <R> CompletableFuture<R> evaluate(Object[] candidates, Predicate<Object> supports, boolean firstOnly,
+			Executor executor, Function<boolean[], R> mapper) {
+
+		// Only interrupt threads we own
+		boolean interruptible = executor == getDefaultExecutor();
+		var lookup = new AsyncPluginLookup(candidates, supports, firstOnly, interruptible);
+
+		lookup.result.whenComplete((__, ___) -> lookup.cancelOutstanding());
+
+		CompletableFuture<R> mapped = lookup.result.thenApply(mapper);
+
+		// Propagate cancellation by the caller
+		mapped.whenComplete((__, ___) -> lookup.result.cancel(false));
+
+		lookup.start(executor);
+
+		return mapped;
+	}
+
+	private void start(Executor executor) {
+
+		if (candidates.length == 0) {
+			result.complete(new boolean[0]);
+			return;
+		}
+
+		for (int i = 0; i < candidates.length && !result.isDone(); i++) {
+
+			int index = i;
+
+			try {
+				executor.execute(() -> evaluate(index));
+			} catch (RuntimeException o_O) {
+				result.completeExceptionally(o_O);
+			}
+		}
+	}
+
+	private void evaluate(int index) {
+
+		synchronized (this) {
+
+			if (terminated) {
+				return;
+			}
+
+			running[index] = Thread.currentThread();
+		}
+
+		byte decision;
+		Throwable failure = null;
+
+		try {
+			decision = supports.test(candidates[index]) ? SUPPORTED : UNSUPPORTED;
+		} catch (Throwable o_O) {
+			decision = FAILED;
+			failure = o_O;
+		}
+
+		boolean[] flags = null;
+		Throwable cause = null;
+
+		synchronized (this) {
+
+			running[index] = null;
+
+			if (terminated) {
+
+				// Clear interrupts issued by cancelOutstanding() so that they don't leak into pooled threads
+				if (interruptible) {
+					Thread.interrupted();
+				}
+
+				return;
+			}
+
+			decisions[index] = decision;
+			failures[index] = failure;
+
+			// Walk the decisions in candidate order as far as they are known
+			while (next < candidates.length && decisions[next] != PENDING) {
+
+				if (decisions[next] == FAILED) {
+					cause = failures[next];
+					break;
+				}
+
+				if (decisions[next] == SUPPORTED && firstOnly) {
+					flags = toFlags(next + 1);
+					break;
+				}
+
+				next++;
+			}
+
+			if (cause == null && flags == null && next == candidates.length) {
+				flags = toFlags(candidates.length);
+			}
+		}
+
+		// Complete outside the lock as dependent stages run synchronously
+		if (cause != null) {
+			result.completeExceptionally(cause);
+		} else if (flags != null) {
+			result.complete(flags);
+		}
+	}
+
+	private boolean[] toFlags(int length) {
+
+		boolean[] flags = new boolean[candidates.length];
+
+		for (int i = 0; i < length; i++) {
+			flags[i] = decisions[i] == SUPPORTED;
+		}
+
+		return flags;
+	}
+
+	private synchronized void cancelOutstanding() {
+
+		terminated = true;
+
+		if (!interruptible) {
+			return;
+		}
+
+		for (Thread thread : running) {
+			if (thread != null) {
+				thread.interrupt();
+			}
+		}
+	}
+
+	private static Executor createDefaultExecutor() {
+
+		try {
+			return new VirtualThreadTaskExecutor("plugin-lookup-");
+		} catch (UnsupportedOperationException o_O) {
+
+			var threads = new CustomizableThreadCreator("plugin-lookup-");
+			threads.setDaemon(true);
+
+			int size = Math.max(8, Runtime.getRuntime().availableProcessors() * 4);
+			var executor = new ThreadPoolExecutor(size, size, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+					threads::createThread);
+			executor.allowCoreThreadTimeOut(true);
+
+			return executor;
+		}
+	}
+}
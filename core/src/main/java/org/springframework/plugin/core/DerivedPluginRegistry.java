@@ -0,0 +1,172 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.springframework.util.Assert;
+
+/**
+ * Base class for {@link PluginRegistry} implementations derived from other registries. Implements the convenience
+ * lookup methods in terms of {@link #findPluginFor(Object)}, {@link #getPluginsFor(Object)} and {@link #getPlugins()}.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ */
+abstract class DerivedPluginRegistry<T extends Plugin<S>, S> implements PluginRegistry<T, S> {
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#getPluginFor(java.lang.Object)
+	 */
+	@Override
+	public Optional<T> getPluginFor(S delimiter) {
+		return Optional.ofNullable(findPluginFor(delimiter));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#getRequiredPluginFor(java.lang.Object)
+	 */
+	@Override
+	public T getRequiredPluginFor(S delimiter) {
+
+		T plugin = findPluginFor(delimiter);
+
+		if (plugin == null) {
+			throw new IllegalArgumentException(
+					String.format("No plugin found for delimiter %s! Registered plugins: %s.", delimiter, getPlugins()));
+		}
+
+		return plugin;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#getRequiredPluginFor(java.lang.Object, java.util.function.Supplier)
+	 */
+	@Override
+	public T getRequiredPluginFor(S delimiter, Supplier<String> message) throws IllegalArgumentException {
+
+		Assert.notNull(message, "Message must not be null!");
+
+		T plugin = findPluginFor(delimiter);
+
+		if (plugin == null) {
+			throw new IllegalArgumentException(message.get());
+		}
+
+		return plugin;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#getPluginFor(java.lang.Object, java.util.function.Supplier)
+	 */
+	@Override
+	public <E extends Exception> T getPluginFor(S delimiter, Supplier<E> ex) throws E {
+
+		Assert.notNull(ex, "Exception supplier must not be null!");
+
+		T plugin = findPluginFor(delimiter);
+
+		if (plugin == null) {
+			throw ex.get();
+		}
+
+		return plugin;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#getPluginsFor(java.lang.Object, java.util.function.Supplier)
+	 */
+	@Override
+	public <E extends Exception> List<T> getPluginsFor(S delimiter, Supplier<E> ex) throws E {
+
+		Assert.notNull(ex, "Exception supplier must not be null!");
+
+		List<T> result = getPluginsFor(delimiter);
+
+		if (result.isEmpty()) {
+			throw ex.get();
+		}
+
+		return result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#getPluginOrDefaultFor(java.lang.Object, org.springframework.plugin.core.Plugin)
+	 */
+	@Override
+	public T getPluginOrDefaultFor(S delimiter, T plugin) {
+
+		T result = findPluginFor(delimiter);
+
+		return result == null ? plugin : result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#getPluginOrDefaultFor(java.lang.Object, java.util.function.Supplier)
+	 */
+	@Override
+	public T getPluginOrDefaultFor(S delimiter, Supplier<T> defaultSupplier) {
+
+		Assert.notNull(defaultSupplier, "Default supplier must not be null!");
+
+		T result = findPluginFor(delimiter);
+
+		return result == null ? defaultSupplier.get() : result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#getPluginsFor(java.lang.Object, java.util.List)
+	 */
+	@Override
+	public List<T> getPluginsFor(S delimiter, List<? extends T> plugins) {
+
+		Assert.notNull(plugins, "Plugins must not be null!");
+
+		List<T> candidates = getPluginsFor(delimiter);
+
+		return candidates.isEmpty() ? new ArrayList<T>(plugins) : candidates;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#hasPluginFor(java.lang.Object)
+	 */
+	@Override
+	public boolean hasPluginFor(S delimiter) {
+		return findPluginFor(delimiter) != null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Iterable#iterator()
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return getPlugins().iterator();
+	}
+}
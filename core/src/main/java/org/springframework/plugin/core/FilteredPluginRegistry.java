@@ -0,0 +1,265 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * View on a {@link SimplePluginRegistry} only exposing a subset of its plugins. The view doesn't copy the plugins but
+ * shares the snapshot of the registry and the lookup indexes held by it, masking out disabled plugins using a
+ * {@link BitSet} of their positions in the snapshot.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ * @see SimplePluginRegistry#filter(Predicate)
+ * @see SimplePluginRegistry#view(BitSet)
+ */
+final class FilteredPluginRegistry<T extends Plugin<S>, S> extends DerivedPluginRegistry<T, S> {
+
+	private final SimplePluginRegistry<T, S> registry;
+	private final @Nullable Predicate<? super T> filter;
+	private volatile Mask<T> mask;
+
+	private FilteredPluginRegistry(SimplePluginRegistry<T, S> registry, @Nullable Predicate<? super T> filter,
+			Mask<T> mask) {
+
+		this.registry = registry;
+		this.filter = filter;
+		this.mask = mask;
+	}
+
+	/**
+	 * Creates a new {@link FilteredPluginRegistry} exposing the plugins of the given registry matching the given
+	 * {@link Predicate}. The predicate is evaluated again once the registry obtains a new snapshot of plugins.
+	 *
+	 * @param registry must not be {@literal null}.
+	 * @param filter must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	static <T extends Plugin<S>, S> FilteredPluginRegistry<T, S> of(SimplePluginRegistry<T, S> registry,
+			Predicate<? super T> filter) {
+
+		Assert.notNull(registry, "Registry must not be null!");
+		Assert.notNull(filter, "Filter must not be null!");
+
+		return new FilteredPluginRegistry<>(registry, filter, Mask.of(registry.getSnapshot(), filter));
+	}
+
+	/**
+	 * Creates a new {@link FilteredPluginRegistry} exposing the plugins of the given registry at the positions set in
+	 * the given {@link BitSet}. The positions refer to the current snapshot of the registry. Once the registry obtains a new
+	 * snapshot of plugins, be it a reordered or a refreshed one, the positions are carried over to the plugins of the new
+	 * snapshot, so that the view keeps exposing the same plugins. Plugins added to the registry later on are not
+	 * exposed.
+	 *
+	 * @param registry must not be {@literal null}.
+	 * @param enabled must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	static <T extends Plugin<S>, S> FilteredPluginRegistry<T, S> of(SimplePluginRegistry<T, S> registry,
+			BitSet enabled) {
+
+		Assert.notNull(registry, "Registry must not be null!");
+		Assert.notNull(enabled, "Enabled plugins must not be null!");
+
+		PluginSnapshot<T> snapshot = registry.getSnapshot();
+		BitSet bits = enabled.get(0, snapshot.size());
+
+		return new FilteredPluginRegistry<>(registry, null, new Mask<>(snapshot, bits));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#findPluginFor(java.lang.Object)
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public @Nullable T findPluginFor(S delimiter) {
+
+		Assert.notNull(delimiter, "Delimiter must not be null!");
+
+		Mask<T> mask = getMask();
+		Object[] candidates = mask.snapshot().getCandidates(delimiter);
+
+		for (int i = 0; i < candidates.length; i++) {
+
+			T candidate = (T) candidates[i];
+
+			if (mask.isEnabled(candidates, i) && candidate.supports(delimiter)) {
+				return candidate;
+			}
+		}
+
+		return null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#getPluginsFor(java.lang.Object)
+	 */
+	@Override
+	public List<T> getPluginsFor(S delimiter) {
+		return getPluginsFor(delimiter, Integer.MAX_VALUE);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#getPluginsFor(java.lang.Object, int)
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<T> getPluginsFor(S delimiter, int limit) {
+
+		Assert.notNull(delimiter, "Delimiter must not be null!");
+		Assert.isTrue(limit >= 0, "Limit must not be negative!");
+
+		Mask<T> mask = getMask();
+		Object[] candidates = mask.snapshot().getCandidates(delimiter);
+		List<T> result = new ArrayList<>();
+
+		for (int i = 0; i < candidates.length && result.size() < limit; i++) {
+
+			T candidate = (T) candidates[i];
+
+			if (mask.isEnabled(candidates, i) && candidate.supports(delimiter)) {
+				result.add(candidate);
+			}
+		}
+
+		return result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#countPlugins()
+	 */
+	@Override
+	public int countPlugins() {
+		return getMask().enabled().cardinality();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#contains(org.springframework.plugin.core.Plugin)
+	 */
+	@Override
+	public boolean contains(T plugin) {
+
+		Mask<T> mask = getMask();
+		int position = mask.snapshot().indexOf(plugin);
+
+		return position >= 0 && mask.enabled().get(position);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#getPlugins()
+	 */
+	@Override
+	public List<T> getPlugins() {
+
+		Mask<T> mask = getMask();
+		List<T> plugins = mask.snapshot().asList();
+		BitSet enabled = mask.enabled();
+		List<T> result = new ArrayList<>(enabled.cardinality());
+
+		for (int i = enabled.nextSetBit(0); i >= 0; i = enabled.nextSetBit(i + 1)) {
+			result.add(plugins.get(i));
+		}
+
+		return result;
+	}
+
+	private Mask<T> getMask() {
+
+		var mask = this.mask;
+		PluginSnapshot<T> snapshot = registry.getSnapshot();
+
+		if (mask.snapshot() != snapshot) {
+
+			var filter = this.filter;
+
+			mask = filter == null ? mask.carryOver(snapshot) : Mask.of(snapshot, filter);
+			this.mask = mask;
+		}
+
+		return mask;
+	}
+
+	/**
+	 * The plugins of a {@link PluginSnapshot} enabled for a view.
+	 */
+	private record Mask<T>(PluginSnapshot<T> snapshot, BitSet enabled) {
+
+		static <T> Mask<T> of(PluginSnapshot<T> snapshot, Predicate<? super T> filter) {
+
+			List<T> plugins = snapshot.asList();
+			BitSet enabled = new BitSet(plugins.size());
+
+			for (int i = 0; i < plugins.size(); i++) {
+				if (filter.test(plugins.get(i))) {
+					enabled.set(i);
+				}
+			}
+
+			return new Mask<>(snapshot, enabled);
+		}
+
+		/**
+		 * Returns a {@link Mask} for the given snapshot enabling the plugins enabled by the current one.
+		 *
+		 * @param target must not be {@literal null}.
+		 * @return will never be {@literal null}.
+		 */
+		Mask<T> carryOver(PluginSnapshot<T> target) {
+
+			List<T> plugins = target.asList();
+			BitSet result = new BitSet(plugins.size());
+
+			for (int i = 0; i < plugins.size(); i++) {
+
+				int position = snapshot.indexOf(plugins.get(i));
+
+				if (position >= 0 && enabled.get(position)) {
+					result.set(i);
+				}
+			}
+
+			return new Mask<>(target, result);
+		}
+
+		/**
+		 * Returns whether the candidate at the given index of the given candidates obtained from the snapshot is enabled.
+		 *
+		 * @param candidates must not be {@literal null}.
+		 * @param index the index of the candidate.
+		 * @return whether the candidate is enabled.
+		 */
+		boolean isEnabled(Object[] candidates, int index) {
+
+			// Candidates not narrowed down by an index are the plugins of the snapshot themselves
+			int position = snapshot.isPlugins(candidates) ? index : snapshot.indexOf(candidates[index]);
+
+			return position >= 0 && enabled.get(position);
+		}
+	}
+}
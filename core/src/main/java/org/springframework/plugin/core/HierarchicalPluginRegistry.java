@@ -0,0 +1,432 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link PluginRegistry} layering a set of plugins of its own over a parent {@link PluginRegistry}, ordered by the same
+ * {@link Comparator} as the plugins of the parent. Lookups consult the parent and merge its result with the plugins of
+ * the child matching, so that the lookup indexes and caches of the parent are shared by all of its children and a
+ * child only ever indexes and sorts its own plugins. Plugins of the child are ordered before plugins of the parent of
+ * equal order. The child only keeps track of the position each of its own plugins is to be inserted at into the plugins
+ * of the parent, computed once per set of plugins of the child and the parent, so that merging lookup results only
+ * compares positions and the parent isn't consulted at all if the plugin of the child found precedes all plugins of
+ * the parent. As that requires the parent to keep its plugins ordered by the
+ * {@link Comparator}, registries {@link SimplePluginRegistry#withAdaptiveOrdering(int) reordering their plugins
+ * adaptively} cannot be used as parent. Use {@link OrderAwarePluginRegistry#createChild(List)} to create instances.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ */
+public class HierarchicalPluginRegistry<T extends Plugin<S>, S> extends DerivedPluginRegistry<T, S> {
+
+	private final PluginRegistry<T, S> parent;
+	private final OrderAwarePluginRegistry<T, S> plugins;
+	private final Comparator<? super T> comparator;
+	private volatile @Nullable Layout<T> layout;
+
+	/**
+	 * Creates a new {@link HierarchicalPluginRegistry} for the given parent, plugins and {@link Comparator}.
+	 *
+	 * @param parent must not be {@literal null}.
+	 * @param plugins must not be {@literal null}.
+	 * @param comparator the {@link Comparator} the plugins of the parent are ordered by, must not be {@literal null}.
+	 */
+	HierarchicalPluginRegistry(PluginRegistry<T, S> parent, Supplier<List<? extends T>> plugins,
+			Comparator<? super T> comparator) {
+
+		Assert.notNull(parent, "Parent registry must not be null!");
+		Assert.notNull(plugins, "Plugins must not be null!");
+		Assert.notNull(comparator, "Comparator must not be null!");
+		Assert.isTrue(!(parent instanceof SimplePluginRegistry<?, ?> registry)
+				|| registry.getOptions().getAdaptiveOrdering() == null,
+				"Parent registry must not reorder its plugins adaptively!");
+
+		this.parent = parent;
+		this.plugins = OrderAwarePluginRegistry.of(plugins, comparator);
+		this.comparator = comparator;
+	}
+
+	/**
+	 * Creates a new {@link HierarchicalPluginRegistry} layering the given plugins over the current one.
+	 *
+	 * @param plugins must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	public HierarchicalPluginRegistry<T, S> createChild(List<? extends T> plugins) {
+
+		Assert.notNull(plugins, "Plugins must not be null!");
+
+		return createChild(() -> plugins);
+	}
+
+	/**
+	 * Creates a new {@link HierarchicalPluginRegistry} layering the plugins obtained from the given {@link Supplier} on
+	 * first access over the current one.
+	 *
+	 * @param plugins must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	public HierarchicalPluginRegistry<T, S> createChild(Supplier<List<? extends T>> plugins) {
+		return new HierarchicalPluginRegistry<>(this, plugins, comparator);
+	}
+
+	/**
+	 * Returns the parent {@link PluginRegistry}.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	public PluginRegistry<T, S> getParent() {
+		return parent;
+	}
+
+	/**
+	 * Returns the plugins of the registry itself, i.e. without the ones of the parent.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	public List<T> getOwnPlugins() {
+		return plugins.getPlugins();
+	}
+
+	/**
+	 * Discards the plugins of the registry itself so that the next access obtains them from the source the registry was
+	 * created with again. Doesn't affect the parent.
+	 *
+	 * @see OrderAwarePluginRegistry#refresh()
+	 */
+	public void refresh() {
+		plugins.refresh();
+	}
+
+	/**
+	 * Eagerly obtains the plugins of the registry itself from the source the registry was created with again. Doesn't
+	 * affect the parent.
+	 *
+	 * @see OrderAwarePluginRegistry#reload()
+	 */
+	public void reload() {
+		plugins.reload();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#findPluginFor(java.lang.Object)
+	 */
+	@Override
+	public @Nullable T findPluginFor(S delimiter) {
+
+		Assert.notNull(delimiter, "Delimiter must not be null!");
+
+		T own = plugins.findPluginFor(delimiter);
+		Layout<T> layout = getLayout();
+
+		// No plugin of the parent could precede the one found
+		if (own != null && layout.getInsertionPoint(own) == 0) {
+			return own;
+		}
+
+		T inherited = parent.findPluginFor(delimiter);
+
+		if (own == null || inherited == null) {
+			return own == null ? inherited : own;
+		}
+
+		return compare(layout, own, inherited) <= 0 ? own : inherited;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#getPluginsFor(java.lang.Object)
+	 */
+	@Override
+	public List<T> getPluginsFor(S delimiter) {
+
+		Assert.notNull(delimiter, "Delimiter must not be null!");
+
+		return merge(plugins.getPluginsFor(delimiter), parent.getPluginsFor(delimiter), Integer.MAX_VALUE);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#getPluginsFor(java.lang.Object, int)
+	 */
+	@Override
+	public List<T> getPluginsFor(S delimiter, int limit) {
+
+		Assert.notNull(delimiter, "Delimiter must not be null!");
+		Assert.isTrue(limit >= 0, "Limit must not be negative!");
+
+		return limit == 0 //
+				? new ArrayList<>()
+				: merge(plugins.getPluginsFor(delimiter, limit), parent.getPluginsFor(delimiter, limit), limit);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#countPlugins()
+	 */
+	@Override
+	public int countPlugins() {
+		return plugins.countPlugins() + parent.countPlugins();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#contains(org.springframework.plugin.core.Plugin)
+	 */
+	@Override
+	public boolean contains(T plugin) {
+		return plugins.contains(plugin) || parent.contains(plugin);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#hasPluginFor(java.lang.Object)
+	 */
+	@Override
+	public boolean hasPluginFor(S delimiter) {
+		return plugins.hasPluginFor(delimiter) || parent.hasPluginFor(delimiter);
+	}
+
+	/**
+	 * Returns all plugins of the registry and its parent. Merges the plugins on every invocation, so only use this if
+	 * you really need to access all plugins.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	@Override
+	public List<T> getPlugins() {
+		return merge(plugins.getPlugins(), parent.getPlugins(), Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Merges the given lists, both ordered by the {@link Comparator} of the registry, into a new one of at most the
+	 * given size, placing plugins of the registry itself before the ones of the parent of equal order.
+	 *
+	 * @param own must not be {@literal null}.
+	 * @param inherited must not be {@literal null}.
+	 * @param limit the maximum number of plugins to return.
+	 * @return will never be {@literal null}.
+	 */
+	private List<T> merge(List<T> own, List<T> inherited, int limit) {
+
+		if (own.isEmpty() || inherited.isEmpty()) {
+
+			List<T> source = own.isEmpty() ? inherited : own;
+
+			return new ArrayList<>(source.subList(0, Math.min(limit, source.size())));
+		}
+
+		Layout<T> layout = getLayout();
+		int size = (int) Math.min(limit, (long) own.size() + inherited.size());
+		List<T> result = new ArrayList<>(size);
+
+		int i = 0;
+		int j = 0;
+
+		while (result.size() < size) {
+
+			if (j == inherited.size() || i < own.size() && compare(layout, own.get(i), inherited.get(j)) <= 0) {
+				result.add(own.get(i++));
+			} else {
+				result.add(inherited.get(j++));
+			}
+		}
+
+		return result;
+	}
+
+	private int compare(Layout<T> layout, T own, T inherited) {
+
+		int insertionPoint = layout.getInsertionPoint(own);
+		int position = insertionPoint < 0 ? -1 : getPosition(parent, inherited);
+
+		// Fall back to the comparator for plugins not known when the layout was computed
+		if (position < 0) {
+			return comparator.compare(own, inherited);
+		}
+
+		// Own plugins precede the plugins of the parent not ordered before them
+		return insertionPoint <= position ? -1 : 1;
+	}
+
+	/**
+	 * Returns the position of the given plugin in the plugins of the registry and its parent.
+	 *
+	 * @param plugin must not be {@literal null}.
+	 * @return the position or {@literal -1} if the plugin is unknown.
+	 */
+	private int getPosition(T plugin) {
+
+		Layout<T> layout = getLayout();
+		int index = layout.own().indexOf(plugin);
+
+		if (index >= 0) {
+			return index + layout.insertionPoints()[index];
+		}
+
+		int position = getPosition(parent, plugin);
+
+		return position < 0 ? -1 : position + layout.countInsertedUpTo(position);
+	}
+
+	/**
+	 * Returns the number of plugins of the registry and its parent ordered before the given one.
+	 *
+	 * @param plugin must not be {@literal null}.
+	 * @return
+	 */
+	private int countPreceding(T plugin) {
+
+		List<T> own = getLayout().own().asList();
+
+		return countPreceding(parent, plugin) + countPreceding(own, plugin);
+	}
+
+	/**
+	 * Returns the {@link Layout} for the current plugins of the registry and its parent, computing it if either of them
+	 * has changed.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	private Layout<T> getLayout() {
+
+		PluginSnapshot<T> own = plugins.getSnapshot();
+		Object state = getState(parent);
+		Layout<T> layout = this.layout;
+
+		if (layout != null && layout.own() == own && layout.parent() == state) {
+			return layout;
+		}
+
+		List<T> ownPlugins = own.asList();
+		int[] insertionPoints = new int[ownPlugins.size()];
+
+		for (int i = 0; i < insertionPoints.length; i++) {
+			insertionPoints[i] = countPreceding(parent, ownPlugins.get(i));
+		}
+
+		layout = new Layout<>(own, state, insertionPoints);
+		this.layout = layout;
+
+		return layout;
+	}
+
+	private int getPosition(PluginRegistry<T, S> registry, T plugin) {
+
+		if (registry instanceof HierarchicalPluginRegistry<T, S> hierarchical) {
+			return hierarchical.getPosition(plugin);
+		}
+
+		return registry instanceof SimplePluginRegistry<T, S> simple ? simple.getSnapshot().indexOf(plugin) : -1;
+	}
+
+	private int countPreceding(PluginRegistry<T, S> registry, T plugin) {
+
+		return registry instanceof HierarchicalPluginRegistry<T, S> hierarchical //
+				? hierarchical.countPreceding(plugin)
+				: countPreceding(registry.getPlugins(), plugin);
+	}
+
+	/**
+	 * Returns the number of plugins of the given ones, ordered by the {@link Comparator} of the registry, that are
+	 * ordered before the given plugin.
+	 */
+	private int countPreceding(List<T> plugins, T plugin) {
+
+		int low = 0;
+		int high = plugins.size();
+
+		while (low < high) {
+
+			int middle = (low + high) >>> 1;
+
+			if (comparator.compare(plugins.get(middle), plugin) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		return low;
+	}
+
+	/**
+	 * Returns the object representing the current plugins of the given registry, changing whenever the plugins or their
+	 * order change.
+	 */
+	private static Object getState(PluginRegistry<?, ?> registry) {
+
+		if (registry instanceof HierarchicalPluginRegistry<?, ?> hierarchical) {
+			return hierarchical.getLayout();
+		}
+
+		return registry instanceof SimplePluginRegistry<?, ?> simple ? simple.getSnapshot() : registry.getPlugins();
+	}
+
+	/**
+	 * The own plugins of the registry along with the number of plugins of the parent ordered before each of them, i.e.
+	 * the position in the plugins of the parent they are to be inserted at.
+	 */
+	private record Layout<T>(PluginSnapshot<T> own, Object parent, int[] insertionPoints) {
+
+		/**
+		 * Returns the insertion point of the given own plugin.
+		 *
+		 * @param plugin must not be {@literal null}.
+		 * @return the insertion point or {@literal -1} if the plugin is unknown.
+		 */
+		int getInsertionPoint(Object plugin) {
+
+			int index = own.indexOf(plugin);
+
+			return index < 0 ? -1 : insertionPoints[index];
+		}
+
+		/**
+		 * Returns the number of own plugins inserted at or before the given position of the plugins of the parent.
+		 *
+		 * @param position the position in the plugins of the parent.
+		 * @return
+		 */
+		int countInsertedUpTo(int position) {
+
+			int low = 0;
+			int high = insertionPoints.length;
+
+			while (low < high) {
+
+				int middle = (low + high) >>> 1;
+
+				if (insertionPoints[middle] <= position) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+
+			return low;
+		}
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link PluginRegistryObserver} keeping {@link PluginRegistryMetrics} per registry in memory. A single instance can be
+ * shared by all registries of an application.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ */
+public class InMemoryPluginRegistryObserver implements PluginRegistryObserver {
+
+	private final Map<String, PluginRegistryMetrics> metrics = new ConcurrentHashMap<>();
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistryObserver#onLookup(java.lang.String, int, long)
+	 */
+	@Override
+	public void onLookup(String registry, int matches, long durationNanos) {
+		getOrCreate(registry).recordLookup(matches, durationNanos);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistryObserver#onMatch(java.lang.String, org.springframework.plugin.core.Plugin)
+	 */
+	@Override
+	public void onMatch(String registry, Plugin<?> plugin) {
+		getOrCreate(registry).recordMatch(plugin);
+	}
+
+	/**
+	 * Returns the {@link PluginRegistryMetrics} recorded for the registry with the given name.
+	 *
+	 * @param registry must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	public Optional<PluginRegistryMetrics> getMetrics(String registry) {
+
+		Assert.notNull(registry, "Registry name must not be null!");
+
+		return Optional.ofNullable(metrics.get(registry));
+	}
+
+	/**
+	 * Returns the {@link PluginRegistryMetrics} of all registries observed so far, keyed by registry name.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	public Map<String, PluginRegistryMetrics> getMetrics() {
+		return Collections.unmodifiableMap(metrics);
+	}
+
+	/**
+	 * Drops all metrics recorded so far.
+	 */
+	public void reset() {
+		metrics.clear();
+	}
+
+	private PluginRegistryMetrics getOrCreate(String registry) {
+
+		// Avoid computeIfAbsent(…) locking the bin for registries already known
+		PluginRegistryMetrics result = metrics.get(registry);
+
+		return result != null ? result : metrics.computeIfAbsent(registry, __ -> new PluginRegistryMetrics());
+	}
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import java.util.Set;
+
+/**
+ * A {@link Plugin} that supports a fixed set of discrete delimiter values, like {@link String}s or enum constants.
+ * Registries use the declared keys to build a hash index (or an {@link java.util.EnumMap} for enum keys) from delimiter
+ * to the plugins potentially supporting it, so that lookups don't need to consult every plugin. The default
+ * implementation of {@link #supports(Object)} checks the delimiter against the declared keys. Implementations can
+ * override it to further narrow the decision but must never support delimiters not contained in the declared keys, as
+ * the registry will not consider the plugin for those.
+ *
+ * @param <S> the delimiter type
+ * @author Oliver Drotbohm
+ * @since 4.2
+ */
+public interface KeyedPlugin<S> extends Plugin<S> {
+
+	/**
+	 * Returns the delimiters the plugin supports. The returned {@link Set} must not change over the lifetime of the
+	 * plugin and the keys need to implement {@link Object#equals(Object)} and {@link Object#hashCode()} consistently.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	Set<? extends S> getSupportedKeys();
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.Plugin#supports(java.lang.Object)
+	 */
+	@Override
+	default boolean supports(S delimiter) {
+		return getSupportedKeys().contains(delimiter);
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.util.Assert;
+
+/**
+ * Concurrent histogram of durations in nanoseconds with power-of-two bucket boundaries, i.e. bucket {@code i} counts
+ * the durations that are less than 2<sup>i</sup> but at least 2<sup>i-1</sup> nanoseconds. Recording is lock-free
+ * and doesn't allocate.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ */
+class LatencyHistogram {
+
+	static final int BUCKETS = Long.SIZE;
+
+	private final LongAdder[] buckets = new LongAdder[BUCKETS];
+	private final LongAdder total = new LongAdder();
+
+	LatencyHistogram() {
+
+		for (int i = 0; i < BUCKETS; i++) {
+			buckets[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Records the given duration. Negative durations are recorded as zero.
+	 *
+	 * @param nanos
+	 */
+	void record(long nanos) {
+
+		long duration = Math.max(nanos, 0);
+
+		total.add(duration);
+		// Durations of 2^63 - 1 would end up one past the last bucket
+		buckets[Math.min(BUCKETS - Long.numberOfLeadingZeros(duration), BUCKETS - 1)].increment();
+	}
+
+	/**
+	 * Returns the sum of all durations recorded.
+	 *
+	 * @return
+	 */
+	long getTotal() {
+		return total.sum();
+	}
+
+	/**
+	 * Returns a copy of the bucket counts.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	long[] getCounts() {
+
+		long[] result = new long[BUCKETS];
+
+		for (int i = 0; i < BUCKETS; i++) {
+			result[i] = buckets[i].sum();
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns an upper bound for the given percentile of the durations contained in the given bucket counts. Returns
+	 * {@literal 0} if the counts are all zero.
+	 *
+	 * @param counts must not be {@literal null}.
+	 * @param percentile between {@literal 0.0} and {@literal 1.0}.
+	 * @return
+	 */
+	static long getPercentile(long[] counts, double percentile) {
+
+		Assert.isTrue(percentile >= 0.0 && percentile <= 1.0, "Percentile must be between 0.0 and 1.0!");
+
+		long total = 0;
+
+		for (long count : counts) {
+			total += count;
+		}
+
+		if (total == 0) {
+			return 0;
+		}
+
+		long threshold = Math.max((long) Math.ceil(percentile * total), 1);
+		long seen = 0;
+
+		for (int i = 0; i < counts.length; i++) {
+
+			seen += counts[i];
+
+			if (seen >= threshold) {
+				return i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+			}
+		}
+
+		return Long.MAX_VALUE;
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A {@link Plugin} for {@code long} delimiters, like numeric message type codes, that can be selected without boxing the
+ * delimiter when used with a {@link LongPluginRegistry}. Plugins supporting a fixed set of delimiter values can declare
+ * them via {@link #getSupportedKeys()}, so that the registry only considers them for those values. Can still be used
+ * with other {@link PluginRegistry} implementations, which unbox the delimiter.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ * @see LongPluginRegistry
+ */
+public interface LongPlugin extends Plugin<Long> {
+
+	/**
+	 * Returns whether the plugin supports the given delimiter.
+	 *
+	 * @param delimiter the delimiter to check.
+	 * @return
+	 */
+	boolean supports(long delimiter);
+
+	/**
+	 * Returns the delimiters the plugin supports, if it only supports a fixed set of them. The returned array must not
+	 * change over the lifetime of the plugin and the plugin must never support delimiters not contained in it, as
+	 * {@link LongPluginRegistry} will not consider the plugin for those.
+	 *
+	 * @return the supported delimiters or {@literal null} if the plugin doesn't declare them.
+	 */
+	default long @Nullable [] getSupportedKeys() {
+		return null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.Plugin#supports(java.lang.Object)
+	 */
+	@Override
+	default boolean supports(Long delimiter) {
+		return supports(delimiter.longValue());
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * {@link PluginRegistry} for {@link LongPlugin}s looking up plugins for primitive {@code long} delimiters without boxing
+ * them. Orders the plugins like {@link OrderAwarePluginRegistry}, dropping {@literal null} values, and returns the first
+ * matching plugin in that order. Plugins declaring their {@link LongPlugin#getSupportedKeys() supported keys} are
+ * indexed in a dispatch table, so that lookups only consult the plugins declaring the delimiter and the ones not
+ * declaring any keys.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ */
+public class LongPluginRegistry<T extends LongPlugin> extends PrimitivePluginRegistry<T, Long> {
+
+	LongPluginRegistry(List<? extends T> plugins, Comparator<? super T> comparator) {
+		super(plugins, comparator, it -> ((LongPlugin) it).getSupportedKeys());
+	}
+
+	/**
+	 * Creates a new {@link LongPluginRegistry} with the given plugins, ordering them by
+	 * {@link org.springframework.core.Ordered} and {@link org.springframework.core.annotation.Order}.
+	 *
+	 * @param plugins must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	@SafeVarargs
+	public static <T extends LongPlugin> LongPluginRegistry<T> of(T... plugins) {
+		return of(Arrays.asList(plugins));
+	}
+
+	/**
+	 * Creates a new {@link LongPluginRegistry} with the given plugins, ordering them by
+	 * {@link org.springframework.core.Ordered} and {@link org.springframework.core.annotation.Order}.
+	 *
+	 * @param plugins must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	public static <T extends LongPlugin> LongPluginRegistry<T> of(List<? extends T> plugins) {
+		return of(plugins, OrderAwarePluginRegistry.DEFAULT_COMPARATOR);
+	}
+
+	/**
+	 * Creates a new {@link LongPluginRegistry} with the given plugins, ordering them using the given {@link Comparator}.
+	 *
+	 * @param plugins must not be {@literal null}.
+	 * @param comparator must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	public static <T extends LongPlugin> LongPluginRegistry<T> of(List<? extends T> plugins,
+			Comparator<? super T> comparator) {
+		return new LongPluginRegistry<>(plugins, comparator);
+	}
+
+	/**
+	 * Returns the first plugin supporting the given delimiter.
+	 *
+	 * @param delimiter the delimiter to look up.
+	 * @return can be {@literal null}.
+	 */
+	public @Nullable T findPluginFor(long delimiter) {
+		return findPlugin(delimiter);
+	}
+
+	/**
+	 * Returns the first plugin supporting the given delimiter.
+	 *
+	 * @param delimiter the delimiter to look up.
+	 * @return will never be {@literal null}.
+	 */
+	public Optional<T> getPluginFor(long delimiter) {
+		return Optional.ofNullable(findPlugin(delimiter));
+	}
+
+	/**
+	 * Returns the first plugin supporting the given delimiter or throws an {@link IllegalArgumentException} if none
+	 * supports it.
+	 *
+	 * @param delimiter the delimiter to look up.
+	 * @return will never be {@literal null}.
+	 * @throws IllegalArgumentException in case no plugin supports the given delimiter.
+	 */
+	public T getRequiredPluginFor(long delimiter) {
+		return getRequiredPlugin(delimiter);
+	}
+
+	/**
+	 * Returns all plugins supporting the given delimiter in the order of the registry.
+	 *
+	 * @param delimiter the delimiter to look up.
+	 * @return will never be {@literal null}.
+	 */
+	public List<T> getPluginsFor(long delimiter) {
+		return findPlugins(delimiter);
+	}
+
+	/**
+	 * Returns whether any plugin supports the given delimiter.
+	 *
+	 * @param delimiter the delimiter to look up.
+	 * @return
+	 */
+	public boolean hasPluginFor(long delimiter) {
+		return findPlugin(delimiter) != null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PrimitivePluginRegistry#supports(org.springframework.plugin.core.Plugin, long)
+	 */
+	@Override
+	boolean supports(T plugin, long delimiter) {
+		return plugin.supports(delimiter);
+	}
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import java.util.function.Function;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Immutable configuration of the optional lookup modes of a {@link SimplePluginRegistry}. Registries create their
+ * runtime state, like a {@link PluginLookupCache}, from the options they were created with, so that the same options
+ * can be safely used for multiple registries.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ */
+final class LookupOptions<S> {
+
+	private static final LookupOptions<?> DEFAULTS = new LookupOptions<>(0, null, null, "", null, null, null,
+			false);
+
+	private final int cacheSize;
+	private final @Nullable Function<? super S, ?> keyExtractor;
+	private final @Nullable ParallelEvaluator parallelEvaluator;
+	private final String name;
+	private final @Nullable PluginRegistryObserver observer;
+	private final @Nullable PluginProfiler profiler;
+	private final @Nullable AdaptiveOrdering adaptiveOrdering;
+	private final boolean compiled;
+
+	private LookupOptions(int cacheSize, @Nullable Function<? super S, ?> keyExtractor,
+			@Nullable ParallelEvaluator parallelEvaluator, String name, @Nullable PluginRegistryObserver observer,
+			@Nullable PluginProfiler profiler, @Nullable AdaptiveOrdering adaptiveOrdering, boolean compiled) {
+
+		this.cacheSize = cacheSize;
+		this.keyExtractor = keyExtractor;
+		this.parallelEvaluator = parallelEvaluator;
+		this.name = name;
+		this.observer = observer;
+		this.profiler = profiler;
+		this.adaptiveOrdering = adaptiveOrdering;
+		this.compiled = compiled;
+	}
+
+	/**
+	 * Returns the default {@link LookupOptions}, i.e. all optional lookup modes disabled.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	@SuppressWarnings("unchecked")
+	static <S> LookupOptions<S> defaults() {
+		return (LookupOptions<S>) DEFAULTS;
+	}
+
+	/**
+	 * Returns new {@link LookupOptions} enabling a {@link PluginLookupCache} of the given size.
+	 *
+	 * @param maxSize must be greater than zero.
+	 * @param keyExtractor can be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	LookupOptions<S> withCache(int maxSize, @Nullable Function<? super S, ?> keyExtractor) {
+
+		Assert.isTrue(maxSize > 0, "Maximum cache size must be greater than zero!");
+
+		return new LookupOptions<>(maxSize, keyExtractor, parallelEvaluator, name, observer, profiler, adaptiveOrdering,
+				compiled);
+	}
+
+	/**
+	 * Returns new {@link LookupOptions} evaluating {@link Plugin#supports(Object)} in parallel using the given
+	 * {@link ParallelEvaluator}.
+	 *
+	 * @param evaluator can be {@literal null} to disable parallel evaluation.
+	 * @return will never be {@literal null}.
+	 */
+	LookupOptions<S> withParallelEvaluator(@Nullable ParallelEvaluator evaluator) {
+		return new LookupOptions<>(cacheSize, keyExtractor, evaluator, name, observer, profiler, adaptiveOrdering,
+				compiled);
+	}
+
+	/**
+	 * Returns new {@link LookupOptions} reporting all lookups to the given {@link PluginRegistryObserver} under the given
+	 * registry name.
+	 *
+	 * @param name must not be {@literal null} or empty.
+	 * @param observer must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	LookupOptions<S> withObserver(String name, PluginRegistryObserver observer) {
+
+		Assert.hasText(name, "Registry name must not be null or empty!");
+		Assert.notNull(observer, "PluginRegistryObserver must not be null!");
+
+		return new LookupOptions<>(cacheSize, keyExtractor, parallelEvaluator, name, observer, profiler, adaptiveOrdering,
+				compiled);
+	}
+
+	/**
+	 * Returns new {@link LookupOptions} sampling the {@link Plugin#supports(Object)} invocations of lookups with the given
+	 * {@link PluginProfiler}.
+	 *
+	 * @param profiler can be {@literal null} to disable profiling.
+	 * @return will never be {@literal null}.
+	 */
+	LookupOptions<S> withProfiler(@Nullable PluginProfiler profiler) {
+		return new LookupOptions<>(cacheSize, keyExtractor, parallelEvaluator, name, observer, profiler, adaptiveOrdering,
+				compiled);
+	}
+
+	/**
+	 * Returns new {@link LookupOptions} reordering the plugins by hit frequency using the given {@link AdaptiveOrdering}.
+	 *
+	 * @param ordering can be {@literal null} to keep the plugins in their original order.
+	 * @return will never be {@literal null}.
+	 */
+	LookupOptions<S> withAdaptiveOrdering(@Nullable AdaptiveOrdering ordering) {
+		return new LookupOptions<>(cacheSize, keyExtractor, parallelEvaluator, name, observer, profiler, ordering,
+				compiled);
+	}
+
+	/**
+	 * Returns new {@link LookupOptions} evaluating {@link Plugin#supports(Object)} through a {@link PluginDispatcher}
+	 * compiled for the candidates of a lookup.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	LookupOptions<S> withCompiledDispatch() {
+		return new LookupOptions<>(cacheSize, keyExtractor, parallelEvaluator, name, observer, profiler, adaptiveOrdering,
+				true);
+	}
+
+	/**
+	 * Creates a new {@link PluginLookupCache} if caching is enabled.
+	 *
+	 * @return can be {@literal null}.
+	 */
+	<T extends Plugin<S>> @Nullable PluginLookupCache<T, S> createCache() {
+		return cacheSize == 0 ? null : new PluginLookupCache<>(cacheSize, keyExtractor);
+	}
+
+	/**
+	 * Returns the {@link ParallelEvaluator} to use, if any.
+	 *
+	 * @return can be {@literal null}.
+	 */
+	@Nullable
+	ParallelEvaluator getParallelEvaluator() {
+		return parallelEvaluator;
+	}
+
+	/**
+	 * Returns the name to report lookups under. Only meaningful if an observer is configured.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the {@link PluginRegistryObserver} to report lookups to, if any.
+	 *
+	 * @return can be {@literal null}.
+	 */
+	@Nullable
+	PluginRegistryObserver getObserver() {
+		return observer;
+	}
+
+	/**
+	 * Returns the {@link PluginProfiler} to sample {@link Plugin#supports(Object)} invocations with, if any.
+	 *
+	 * @return can be {@literal null}.
+	 */
+	@Nullable
+	PluginProfiler getProfiler() {
+		return profiler;
+	}
+
+	/**
+	 * Returns the {@link AdaptiveOrdering} to reorder the plugins with, if any.
+	 *
+	 * @return can be {@literal null}.
+	 */
+	@Nullable
+	AdaptiveOrdering getAdaptiveOrdering() {
+		return adaptiveOrdering;
+	}
+
+	/**
+	 * Returns whether lookups shall use compiled {@link PluginDispatcher}s.
+	 *
+	 * @return
+	 */
+	boolean isCompiled() {
+		return compiled;
+	}
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link PluginRegistry} that allows to {@link #register(Plugin) register} and {@link #unregister(Plugin) unregister}
+ * plugins at runtime. The plugins are kept in the order defined by a {@link Comparator}, regarding
+ * {@link org.springframework.core.Ordered} and {@link org.springframework.core.annotation.Order} by default. Every
+ * modification publishes a new immutable snapshot of the plugins, so that lookups never lock and always see a
+ * consistent set of plugins. Modifications are serialized and increment the {@link #getVersion() version} of the
+ * registry, which allows clients to detect changes.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ */
+public class MutablePluginRegistry<T extends Plugin<S>, S> extends SimplePluginRegistry<T, S> {
+
+	private final AtomicReference<List<T>> plugins;
+	private final Comparator<? super T> comparator;
+	private final Object writeMonitor = new Object();
+	private volatile long version;
+
+	private MutablePluginRegistry(AtomicReference<List<T>> plugins, Comparator<? super T> comparator,
+			LookupOptions<S> options) {
+
+		super(plugins::get, options);
+
+		this.plugins = plugins;
+		this.comparator = comparator;
+	}
+
+	/**
+	 * Creates a new empty {@link MutablePluginRegistry} ordering plugins by {@link org.springframework.core.Ordered} and
+	 * {@link org.springframework.core.annotation.Order}.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	public static <S, T extends Plugin<S>> MutablePluginRegistry<T, S> empty() {
+		return of(Collections.emptyList());
+	}
+
+	/**
+	 * Creates a new empty {@link MutablePluginRegistry} ordering plugins using the given {@link Comparator}.
+	 *
+	 * @param comparator must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	public static <S, T extends Plugin<S>> MutablePluginRegistry<T, S> of(Comparator<? super T> comparator) {
+		return of(Collections.emptyList(), comparator);
+	}
+
+	/**
+	 * Creates a new {@link MutablePluginRegistry} with the given initial plugins, ordering them by
+	 * {@link org.springframework.core.Ordered} and {@link org.springframework.core.annotation.Order}.
+	 *
+	 * @param plugins must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	public static <S, T extends Plugin<S>> MutablePluginRegistry<T, S> of(List<? extends T> plugins) {
+		return of(plugins, OrderAwarePluginRegistry.DEFAULT_COMPARATOR);
+	}
+
+	/**
+	 * Creates a new {@link MutablePluginRegistry} with the given initial plugins, ordering them using the given
+	 * {@link Comparator}.
+	 *
+	 * @param plugins must not be {@literal null}.
+	 * @param comparator must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	public static <S, T extends Plugin<S>> MutablePluginRegistry<T, S> of(List<? extends T> plugins,
+			Comparator<? super T> comparator) {
+
+		Assert.notNull(plugins, "Plugins must not be null!");
+		Assert.notNull(comparator, "Comparator must not be null!");
+
+		return create(plugins, comparator, LookupOptions.defaults());
+	}
+
+	/**
+	 * Registers the given plugin, placing it after all plugins that don't order after it.
+	 *
+	 * @param plugin must not be {@literal null}.
+	 * @return the version of the registry after the registration.
+	 */
+	public long register(T plugin) {
+
+		Assert.notNull(plugin, "Plugin must not be null!");
+
+		synchronized (writeMonitor) {
+
+			List<T> current = getRegistered();
+			List<T> updated = new ArrayList<>(current.size() + 1);
+
+			updated.addAll(current);
+			updated.add(getInsertionIndex(current, plugin), plugin);
+
+			return publish(updated);
+		}
+	}
+
+	/**
+	 * Unregisters the given plugin. Does not modify the registry if the plugin is not registered.
+	 *
+	 * @param plugin must not be {@literal null}.
+	 * @return whether the plugin was registered.
+	 */
+	public boolean unregister(T plugin) {
+
+		Assert.notNull(plugin, "Plugin must not be null!");
+
+		synchronized (writeMonitor) {
+
+			List<T> updated = new ArrayList<>(getRegistered());
+
+			if (!updated.remove(plugin)) {
+				return false;
+			}
+
+			publish(updated);
+
+			return true;
+		}
+	}
+
+	/**
+	 * Returns the version of the registry, incremented on every modification. A client can detect changes by comparing
+	 * the version it obtained before with the current one.
+	 *
+	 * @return
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.SimplePluginRegistry#withCache(int)
+	 */
+	@Override
+	public MutablePluginRegistry<T, S> withCache(int maxSize) {
+		return (MutablePluginRegistry<T, S>) super.withCache(maxSize);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.SimplePluginRegistry#withCache(int, java.util.function.Function)
+	 */
+	@Override
+	public MutablePluginRegistry<T, S> withCache(int maxSize, Function<? super S, ?> keyExtractor) {
+		return (MutablePluginRegistry<T, S>) super.withCache(maxSize, keyExtractor);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.SimplePluginRegistry#withParallelEvaluation(java.util.concurrent.ForkJoinPool, int)
+	 */
+	@Override
+	public MutablePluginRegistry<T, S> withParallelEvaluation(ForkJoinPool pool, int threshold) {
+		return (MutablePluginRegistry<T, S>) super.withParallelEvaluation(pool, threshold);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.SimplePluginRegistry#withObserver(java.lang.String, org.springframework.plugin.core.PluginRegistryObserver)
+	 */
+	@Override
+	public MutablePluginRegistry<T, S> withObserver(String name, PluginRegistryObserver observer) {
+		return (MutablePluginRegistry<T, S>) super.withObserver(name, observer);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.SimplePluginRegistry#withProfiler(org.springframework.plugin.core.PluginProfiler)
+	 */
+	@Override
+	public MutablePluginRegistry<T, S> withProfiler(PluginProfiler profiler) {
+		return (MutablePluginRegistry<T, S>) super.withProfiler(profiler);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.SimplePluginRegistry#withAdaptiveOrdering(int)
+	 */
+	@Override
+	public MutablePluginRegistry<T, S> withAdaptiveOrdering(int interval) {
+		return (MutablePluginRegistry<T, S>) super.withAdaptiveOrdering(interval);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.SimplePluginRegistry#withAdaptiveOrdering(int, java.util.concurrent.Executor)
+	 */
+	@Override
+	public MutablePluginRegistry<T, S> withAdaptiveOrdering(int interval, Executor executor) {
+		return (MutablePluginRegistry<T, S>) super.withAdaptiveOrdering(interval, executor);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.SimplePluginRegistry#withCompiledDispatch()
+	 */
+	@Override
+	public MutablePluginRegistry<T, S> withCompiledDispatch() {
+		return (MutablePluginRegistry<T, S>) super.withCompiledDispatch();
+	}
+
+	/**
+	 * Returns a new {@link MutablePluginRegistry} with the given {@link LookupOptions}, initially containing the plugins
+	 * currently registered. Modifications of either registry are not reflected in the other one.
+	 *
+	 * @see org.springframework.plugin.core.SimplePluginRegistry#with(org.springframework.plugin.core.LookupOptions)
+	 */
+	@Override
+	MutablePluginRegistry<T, S> with(LookupOptions<S> options) {
+		return create(getRegistered(), comparator, options);
+	}
+
+	private List<T> getRegistered() {
+		return Objects.requireNonNull(plugins.get());
+	}
+
+	private long publish(List<T> updated) {
+
+		PluginSnapshot<T> snapshot = PluginSnapshot.of(updated);
+
+		plugins.set(snapshot.asList());
+		publish(snapshot);
+
+		return ++version;
+	}
+
+	private int getInsertionIndex(List<T> plugins, T plugin) {
+
+		int low = 0;
+		int high = plugins.size();
+
+		// Upper bound, so that plugins of equal order keep their registration order
+		while (low < high) {
+
+			int middle = (low + high) >>> 1;
+
+			if (comparator.compare(plugins.get(middle), plugin) <= 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		return low;
+	}
+
+	private static <S, T extends Plugin<S>> MutablePluginRegistry<T, S> create(List<? extends T> plugins,
+			Comparator<? super T> comparator, LookupOptions<S> options) {
+
+		PluginSnapshot<T> snapshot = PluginSnapshot.of(PluginSorter.sort(plugins, comparator));
+
+		return new MutablePluginRegistry<>(new AtomicReference<>(snapshot.asList()), comparator, options);
+	}
+}
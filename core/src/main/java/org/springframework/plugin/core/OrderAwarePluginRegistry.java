@@ -20,17 +20,21 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.util.Assert;
-import org.springframework.util.function.SingletonSupplier;
 
 /**
  * {@link PluginRegistry} implementation that be made aware of a certain ordering of {@link Plugin}s. By default it
  * orders {@link Plugin}s by regarding {@link org.springframework.core.Ordered} interface or
  * {@link org.springframework.core.annotation.Order} annotation. To alter ordering behaviour use one of the factory
- * methods accepting a {@link Comparator} as parameter.
+ * methods accepting a {@link Comparator} as parameter. When using the default ordering, the order of every plugin is
+ * only resolved once per sort, {@link org.springframework.core.annotation.Order} annotations only once per plugin
+ * class.
  *
  * @author Oliver Gierke
  */
@@ -47,6 +51,7 @@ public class OrderAwarePluginRegistry<T extends Plugin<S>, S> extends SimplePlug
 	 */
 	static final Comparator<Object> DEFAULT_REVERSE_COMPARATOR = DEFAULT_COMPARATOR.reversed();
 
+	private final Supplier<List<? extends T>> plugins;
 	private final Comparator<? super T> comparator;
 
 	/**
@@ -58,17 +63,26 @@ public class OrderAwarePluginRegistry<T extends Plugin<S>, S> extends SimplePlug
 	 *          {@code #DEFAULT_COMPARATOR} shall be used.
 	 */
 	protected OrderAwarePluginRegistry(Supplier<List<? extends T>> plugins, Comparator<? super T> comparator) {
+		this(plugins, comparator, LookupOptions.defaults());
+	}
 
-		super(SingletonSupplier.of(() -> {
-
-			var result = new ArrayList<>(plugins.get());
-			Collections.sort(result, comparator);
+	/**
+	 * Creates a new {@link OrderAwarePluginRegistry} with the given {@link Plugin}s, {@link Comparator} and
+	 * {@link LookupOptions}.
+	 *
+	 * @param plugins must not be {@literal null}.
+	 * @param comparator must not be {@literal null}.
+	 * @param options must not be {@literal null}.
+	 * @since 4.2
+	 */
+	OrderAwarePluginRegistry(Supplier<List<? extends T>> plugins, Comparator<? super T> comparator,
+			LookupOptions<S> options) {
 
-			return result;
-		}));
+		super(() -> PluginSorter.sort(plugins.get(), comparator), options);
 
 		Assert.notNull(comparator, "Comparator must not be null!");
 
+		this.plugins = plugins;
 		this.comparator = comparator;
 	}
 
@@ -169,6 +183,119 @@ public class OrderAwarePluginRegistry<T extends Plugin<S>, S> extends SimplePlug
 	public OrderAwarePluginRegistry<T, S> reverse() {
 
 		List<T> copy = new ArrayList<>(getPlugins());
-		return of(copy, comparator.reversed());
+
+		return new OrderAwarePluginRegistry<>(() -> copy, PluginSorter.reverse(comparator), getOptions());
+	}
+
+	/**
+	 * Creates a new {@link HierarchicalPluginRegistry} layering the given plugins over the current registry. The child
+	 * only sorts and indexes its own plugins and merges them with the results of lookups against the current registry,
+	 * ordered by the {@link Comparator} of the current registry. Registries reordering their plugins adaptively cannot
+	 * have children, as their plugins aren't ordered by the {@link Comparator} anymore.
+	 *
+	 * @param plugins must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 * @throws IllegalArgumentException if the registry reorders its plugins adaptively.
+	 * @since 4.2
+	 */
+	public HierarchicalPluginRegistry<T, S> createChild(List<? extends T> plugins) {
+
+		Assert.notNull(plugins, "Plugins must not be null!");
+
+		return createChild(() -> plugins);
+	}
+
+	/**
+	 * Creates a new {@link HierarchicalPluginRegistry} layering the plugins obtained from the given {@link Supplier} on
+	 * first access over the current registry.
+	 *
+	 * @param plugins must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 * @since 4.2
+	 * @see #createChild(List)
+	 */
+	public HierarchicalPluginRegistry<T, S> createChild(Supplier<List<? extends T>> plugins) {
+		return new HierarchicalPluginRegistry<>(this, plugins, comparator);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.SimplePluginRegistry#withCache(int)
+	 */
+	@Override
+	public OrderAwarePluginRegistry<T, S> withCache(int maxSize) {
+		return (OrderAwarePluginRegistry<T, S>) super.withCache(maxSize);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.SimplePluginRegistry#withCache(int, java.util.function.Function)
+	 */
+	@Override
+	public OrderAwarePluginRegistry<T, S> withCache(int maxSize, Function<? super S, ?> keyExtractor) {
+		return (OrderAwarePluginRegistry<T, S>) super.withCache(maxSize, keyExtractor);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.SimplePluginRegistry#withParallelEvaluation(java.util.concurrent.ForkJoinPool, int)
+	 */
+	@Override
+	public OrderAwarePluginRegistry<T, S> withParallelEvaluation(ForkJoinPool pool, int threshold) {
+		return (OrderAwarePluginRegistry<T, S>) super.withParallelEvaluation(pool, threshold);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.SimplePluginRegistry#withObserver(java.lang.String, org.springframework.plugin.core.PluginRegistryObserver)
+	 */
+	@Override
+	public OrderAwarePluginRegistry<T, S> withObserver(String name, PluginRegistryObserver observer) {
+		return (OrderAwarePluginRegistry<T, S>) super.withObserver(name, observer);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.SimplePluginRegistry#withProfiler(org.springframework.plugin.core.PluginProfiler)
+	 */
+	@Override
+	public OrderAwarePluginRegistry<T, S> withProfiler(PluginProfiler profiler) {
+		return (OrderAwarePluginRegistry<T, S>) super.withProfiler(profiler);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.SimplePluginRegistry#withAdaptiveOrdering(int)
+	 */
+	@Override
+	public OrderAwarePluginRegistry<T, S> withAdaptiveOrdering(int interval) {
+		return (OrderAwarePluginRegistry<T, S>) super.withAdaptiveOrdering(interval);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.SimplePluginRegistry#withAdaptiveOrdering(int, java.util.concurrent.Executor)
+	 */
+	@Override
+	public OrderAwarePluginRegistry<T, S> withAdaptiveOrdering(int interval, Executor executor) {
+		return (OrderAwarePluginRegistry<T, S>) super.withAdaptiveOrdering(interval, executor);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.SimplePluginRegistry#withCompiledDispatch()
+	 */
+	@Override
+	public OrderAwarePluginRegistry<T, S> withCompiledDispatch() {
+		return (OrderAwarePluginRegistry<T, S>) super.withCompiledDispatch();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.SimplePluginRegistry#with(org.springframework.plugin.core.LookupOptions)
+	 */
+	@Override
+	OrderAwarePluginRegistry<T, S> with(LookupOptions<S> options) {
+		return new OrderAwarePluginRegistry<>(plugins, comparator, options);
 	}
 }
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Evaluates {@link Plugin#supports(Object)} for a set of candidate plugins in parallel on a {@link ForkJoinPool}. The
+ * candidates are split into ranges evaluated independently, the results are reassembled in candidate order, so that
+ * the parallel evaluation yields the same results as a sequential one.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ */
+final class ParallelEvaluator {
+
+	private final ForkJoinPool pool;
+	private final int threshold;
+
+	/**
+	 * Creates a new {@link ParallelEvaluator} for the given {@link ForkJoinPool} and threshold.
+	 *
+	 * @param pool must not be {@literal null}.
+	 * @param threshold the minimum number of candidates to evaluate in parallel, must be greater than zero.
+	 */
+	ParallelEvaluator(ForkJoinPool pool, int threshold) {
+
+		Assert.notNull(pool, "ForkJoinPool must not be null!");
+		Assert.isTrue(threshold > 0, "Threshold must be greater than zero!");
+
+		this.pool = pool;
+		this.threshold = threshold;
+	}
+
+	/**
+	 * Returns whether the given number of candidates is worth evaluating in parallel.
+	 *
+	 * @param candidates
+	 * @return
+	 */
+	boolean appliesTo(int candidates) {
+		return candidates >= threshold;
+	}
+
+	/**
+	 * Evaluates all candidates concurrently and returns the earliest one supporting the given delimiter. Ranges
+	 * following an already detected match are skipped. An exception thrown by a candidate is only propagated if no
+	 * earlier candidate matches, just like a sequential evaluation would.
+	 *
+	 * @param candidates must not be {@literal null}.
+	 * @param delimiter must not be {@literal null}.
+	 * @return the earliest matching candidate or {@literal null} if none matches.
+	 */
+	@Nullable
+	Object findFirst(Object[] candidates, Object delimiter) {
+
+		var earliest = new AtomicInteger(candidates.length);
+		var failures = new @Nullable RuntimeException[candidates.length];
+
+		pool.invoke(new FindFirst(candidates, delimiter, 0, candidates.length, getLeafSize(candidates), earliest,
+				failures));
+
+		int index = earliest.get();
+
+		if (index == candidates.length) {
+			return null;
+		}
+
+		RuntimeException failure = failures[index];
+
+		if (failure != null) {
+			throw failure;
+		}
+
+		return candidates[index];
+	}
+
+	/**
+	 * Evaluates all candidates concurrently and returns which of them support the given delimiter.
+	 *
+	 * @param candidates must not be {@literal null}.
+	 * @param delimiter must not be {@literal null}.
+	 * @return an array of the same length as the candidates flagging the matching ones.
+	 */
+	boolean[] evaluate(Object[] candidates, Object delimiter) {
+
+		boolean[] matches = new boolean[candidates.length];
+
+		pool.invoke(new Evaluate(candidates, delimiter, 0, candidates.length, getLeafSize(candidates), matches));
+
+		return matches;
+	}
+
+	/**
+	 * Invokes the given {@link RangeAction} concurrently for disjoint ranges covering all indexes from zero to the given
+	 * length and returns once all of them have completed.
+	 *
+	 * @param length must not be negative.
+	 * @param action must not be {@literal null}.
+	 */
+	void forEachRange(int length, RangeAction action) {
+		pool.invoke(new ForEachRange(action, 0, length, getLeafSize(length)));
+	}
+
+	private int getLeafSize(Object[] candidates) {
+		return getLeafSize(candidates.length);
+	}
+
+	private int getLeafSize(int length) {
+		return Math.max(1, length / (pool.getParallelism() * 4));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static boolean supports(Object candidate, Object delimiter) {
+		return ((Plugin<Object>) candidate).supports(delimiter);
+	}
+
+	@SuppressWarnings("serial")
+	private static final class FindFirst extends RecursiveAction {
+
+		private final Object[] candidates;
+		private final Object delimiter;
+		private final int from, to, leafSize;
+		private final AtomicInteger earliest;
+		private final @Nullable RuntimeException[] failures;
+
+		FindFirst(Object[] candidates, Object delimiter, int from, int to, int leafSize, AtomicInteger earliest,
+				@Nullable RuntimeException[] failures) {
+
+			this.candidates = candidates;
+			this.delimiter = delimiter;
+			this.from = from;
+			this.to = to;
+			this.leafSize = leafSize;
+			this.earliest = earliest;
+			this.failures = failures;
+		}
+
+		@Override
+		protected void compute() {
+
+			if (from >= earliest.get()) {
+				return;
+			}
+
+			if (to - from > leafSize) {
+
+				int middle = (from + to) >>> 1;
+
+				invokeAll(new FindFirst(candidates, delimiter, from, middle, leafSize, earliest, failures),
+						new FindFirst(candidates, delimiter, middle, to, leafSize, earliest, failures));
+
+				return;
+			}
+
+			for (int i = from; i < to && i < earliest.get(); i++) {
+
+				try {
+
+					if (!supports(candidates[i], delimiter)) {
+						continue;
+					}
+
+				} catch (RuntimeException o_O) {
+
+					// Only decides the lookup if no earlier candidate matches, see findFirst(…)
+					failures[i] = o_O;
+				}
+
+				earliest.accumulateAndGet(i, Math::min);
+				return;
+			}
+		}
+	}
+
+	@SuppressWarnings("serial")
+	private static final class Evaluate extends RecursiveAction {
+
+		private final Object[] candidates;
+		private final Object delimiter;
+		private final int from, to, leafSize;
+		private final boolean[] matches;
+
+		Evaluate(Object[] candidates, Object delimiter, int from, int to, int leafSize, boolean[] matches) {
+
+			this.candidates = candidates;
+			this.delimiter = delimiter;
+			this.from = from;
+			this.to = to;
+			this.leafSize = leafSize;
+			this.matches = matches;
+		}
+
+		@Override
+		protected void compute() {
+
+			if (to - from > leafSize) {
+
+				int middle = (from + to) >>> 1;
+
+				invokeAll(new Evaluate(candidates, delimiter, from, middle, leafSize, matches),
+						new Evaluate(candidates, delimiter, middle, to, leafSize, matches));
+
+				return;
+			}
+
+			for (int i = from; i < to; i++) {
+				matches[i] = supports(candidates[i], delimiter);
+			}
+		}
+	}
+
+	/**
+	 * An action to perform for a range of indexes.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	interface RangeAction {
+
+		/**
+		 * Performs the action for the given range.
+		 *
+		 * @param from the first index, inclusive.
+		 * @param to the last index, exclusive.
+		 */
+		void apply(int from, int to);
+	}
+
+	@SuppressWarnings("serial")
+	private static final class ForEachRange extends RecursiveAction {
+
+		private final RangeAction action;
+		private final int from, to, leafSize;
+
+		ForEachRange(RangeAction action, int from, int to, int leafSize) {
+
+			this.action = action;
+			this.from = from;
+			this.to = to;
+			this.leafSize = leafSize;
+		}
+
+		@Override
+		protected void compute() {
+
+			if (to - from > leafSize) {
+
+				int middle = (from + to) >>> 1;
+
+				invokeAll(new ForEachRange(action, from, middle, leafSize), new ForEachRange(action, middle, to, leafSize));
+
+				return;
+			}
+
+			action.apply(from, to);
+		}
+	}
+}
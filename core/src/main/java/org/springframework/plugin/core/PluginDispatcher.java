@@ -0,0 +1,35 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+/**
+ * Evaluates {@link Plugin#supports(Object)} for a fixed array of candidates.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ * @see PluginDispatcherCompiler
+ */
+interface PluginDispatcher {
+
+	/**
+	 * Returns the index of the first candidate at or after the given index that supports the given delimiter.
+	 *
+	 * @param delimiter must not be {@literal null}.
+	 * @param from the index to start at.
+	 * @return the index of the matching candidate or {@literal -1} if none matches.
+	 */
+	int firstMatch(Object delimiter, int from);
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+
+/**
+ * Creates {@link PluginDispatcher}s for arrays of candidates by generating a hidden class bound to the concrete
+ * candidates that contains a dedicated call site per candidate. In contrast to a loop over all candidates, whose single
+ * call site becomes megamorphic once the candidates are of more than two types, every call site of the generated class
+ * only ever sees a single receiver type, so that the JIT can inline the {@link Plugin#supports(Object)}
+ * implementations. The candidates are held in final fields, which the JVM trusts for hidden classes, and checked in
+ * methods covering a chunk of candidates each, so that none of the methods exceeds the size the JIT is willing to
+ * compile.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ */
+final class PluginDispatcherCompiler {
+
+	private static final Logger LOG = LoggerFactory.getLogger(PluginDispatcherCompiler.class);
+
+	/**
+	 * The maximum number of candidates to generate a class for. Larger arrays are evaluated in a loop.
+	 */
+	static final int MAX_COMPILED_CANDIDATES = 2048;
+
+	private static final int CHUNK_SIZE = 128;
+	private static final String CLASS_NAME = Type.getInternalName(PluginDispatcher.class) + "$Compiled";
+	private static final String PLUGIN = Type.getInternalName(Plugin.class);
+	private static final String PLUGIN_DESCRIPTOR = Type.getDescriptor(Plugin.class);
+	private static final String CHUNK_DESCRIPTOR = "(Ljava/lang/Object;I)I";
+
+	private PluginDispatcherCompiler() {}
+
+	/**
+	 * Returns a {@link PluginDispatcher} for the given candidates, generating a dedicated class for them if possible.
+	 *
+	 * @param candidates must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	static PluginDispatcher compile(Object[] candidates) {
+
+		if (candidates.length == 0 || candidates.length > MAX_COMPILED_CANDIDATES) {
+			return new Interpreted(candidates);
+		}
+
+		try {
+			return define(candidates);
+		} catch (Throwable o_O) {
+
+			LOG.debug("Could not compile dispatcher for {} plugins, falling back to loop!", candidates.length, o_O);
+
+			return new Interpreted(candidates);
+		}
+	}
+
+	private static PluginDispatcher define(Object[] candidates) throws Throwable {
+
+		Lookup lookup = MethodHandles.lookup().defineHiddenClass(generate(candidates.length), true);
+
+		return (PluginDispatcher) lookup
+				.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class, Object[].class))
+				.invoke(candidates);
+	}
+
+	private static byte[] generate(int size) {
+
+		var writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+
+		writer.visit(Opcodes.V17, Opcodes.ACC_FINAL | Opcodes.ACC_SUPER | Opcodes.ACC_SYNTHETIC, CLASS_NAME, null,
+				"java/lang/Object", new String[] { Type.getInternalName(PluginDispatcher.class) });
+
+		for (int i = 0; i < size; i++) {
+			writer.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "p" + i, PLUGIN_DESCRIPTOR, null, null).visitEnd();
+		}
+
+		generateConstructor(writer, size);
+
+		int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+		for (int chunk = 0; chunk < chunks; chunk++) {
+			generateChunk(writer, chunk * CHUNK_SIZE, Math.min(size, (chunk + 1) * CHUNK_SIZE));
+		}
+
+		generateFirstMatch(writer, chunks);
+
+		writer.visitEnd();
+
+		return writer.toByteArray();
+	}
+
+	private static void generateConstructor(ClassWriter writer, int size) {
+
+		MethodVisitor method = writer.visitMethod(0, "<init>", "([Ljava/lang/Object;)V", null, null);
+
+		method.visitCode();
+		method.visitVarInsn(Opcodes.ALOAD, 0);
+		method.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+
+		for (int i = 0; i < size; i++) {
+
+			method.visitVarInsn(Opcodes.ALOAD, 0);
+			method.visitVarInsn(Opcodes.ALOAD, 1);
+			pushInt(method, i);
+			method.visitInsn(Opcodes.AALOAD);
+			method.visitTypeInsn(Opcodes.CHECKCAST, PLUGIN);
+			method.visitFieldInsn(Opcodes.PUTFIELD, CLASS_NAME, "p" + i, PLUGIN_DESCRIPTOR);
+		}
+
+		method.visitInsn(Opcodes.RETURN);
+		method.visitMaxs(0, 0);
+		method.visitEnd();
+	}
+
+	// int c<n>(Object delimiter, int from) checking the candidates from start (inclusive) to end (exclusive)
+	private static void generateChunk(ClassWriter writer, int start, int end) {
+
+		MethodVisitor method = writer.visitMethod(Opcodes.ACC_PRIVATE, "c" + start / CHUNK_SIZE, CHUNK_DESCRIPTOR,
+				null, null);
+
+		method.visitCode();
+
+		for (int i = start; i < end; i++) {
+
+			var next = new Label();
+
+			// if (from <= i && p<i>.supports(delimiter)) return i;
+			method.visitVarInsn(Opcodes.ILOAD, 2);
+			pushInt(method, i);
+			method.visitJumpInsn(Opcodes.IF_ICMPGT, next);
+			method.visitVarInsn(Opcodes.ALOAD, 0);
+			method.visitFieldInsn(Opcodes.GETFIELD, CLASS_NAME, "p" + i, PLUGIN_DESCRIPTOR);
+			method.visitVarInsn(Opcodes.ALOAD, 1);
+			method.visitMethodInsn(Opcodes.INVOKEINTERFACE, PLUGIN, "supports", "(Ljava/lang/Object;)Z", true);
+			method.visitJumpInsn(Opcodes.IFEQ, next);
+			pushInt(method, i);
+			method.visitInsn(Opcodes.IRETURN);
+			method.visitLabel(next);
+		}
+
+		method.visitInsn(Opcodes.ICONST_M1);
+		method.visitInsn(Opcodes.IRETURN);
+		method.visitMaxs(0, 0);
+		method.visitEnd();
+	}
+
+	private static void generateFirstMatch(ClassWriter writer, int chunks) {
+
+		MethodVisitor method = writer.visitMethod(Opcodes.ACC_PUBLIC, "firstMatch", CHUNK_DESCRIPTOR, null, null);
+		var found = new Label();
+
+		method.visitCode();
+
+		for (int chunk = 0; chunk < chunks; chunk++) {
+
+			var next = new Label();
+
+			// Skip chunks entirely before the start index
+			method.visitVarInsn(Opcodes.ILOAD, 2);
+			pushInt(method, (chunk + 1) * CHUNK_SIZE);
+			method.visitJumpInsn(Opcodes.IF_ICMPGE, next);
+			method.visitVarInsn(Opcodes.ALOAD, 0);
+			method.visitVarInsn(Opcodes.ALOAD, 1);
+			method.visitVarInsn(Opcodes.ILOAD, 2);
+			method.visitMethodInsn(Opcodes.INVOKEVIRTUAL, CLASS_NAME, "c" + chunk, CHUNK_DESCRIPTOR, false);
+			method.visitInsn(Opcodes.DUP);
+			method.visitJumpInsn(Opcodes.IFGE, found);
+			method.visitInsn(Opcodes.POP);
+			method.visitLabel(next);
+		}
+
+		method.visitInsn(Opcodes.ICONST_M1);
+		method.visitInsn(Opcodes.IRETURN);
+		method.visitLabel(found);
+		method.visitInsn(Opcodes.IRETURN);
+		method.visitMaxs(0, 0);
+		method.visitEnd();
+	}
+
+	private static void pushInt(MethodVisitor method, int value) {
+
+		if (value >= -1 && value <= 5) {
+			method.visitInsn(Opcodes.ICONST_0 + value);
+		} else if (value <= Byte.MAX_VALUE) {
+			method.visitIntInsn(Opcodes.BIPUSH, value);
+		} else if (value <= Short.MAX_VALUE) {
+			method.visitIntInsn(Opcodes.SIPUSH, value);
+		} else {
+			method.visitLdcInsn(value);
+		}
+	}
+
+	/**
+	 * {@link PluginDispatcher} evaluating the candidates in a loop.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	private static final class Interpreted implements PluginDispatcher {
+
+		private final Object[] candidates;
+
+		Interpreted(Object[] candidates) {
+			this.candidates = candidates;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.plugin.core.PluginDispatcher#firstMatch(java.lang.Object, int)
+		 */
+		@Override
+		@SuppressWarnings("unchecked")
+		public int firstMatch(Object delimiter, int from) {
+
+			for (int i = Math.max(from, 0); i < candidates.length; i++) {
+				if (((Plugin<Object>) candidates[i]).supports(delimiter)) {
+					return i;
+				}
+			}
+
+			return -1;
+		}
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Index from delimiter values to the plugins of a {@link PluginSnapshot} potentially supporting them. Every
+ * {@link KeyedPlugin} is only considered for the keys it declares, all other plugins are merged into every bucket at
+ * their original position so that first-match semantics stay the same as for a plain scan. Uses an {@link EnumMap} in
+ * case all declared keys are constants of the same enum. Buckets containing {@link TypedPlugin}s additionally carry a
+ * {@link PluginTypeIndex}. Thus, a delimiter none of the plugins declares is answered by a single map lookup, only
+ * consulting the plugins not declaring any keys.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ * @see KeyedPlugin
+ */
+final class PluginKeyIndex {
+
+	private final Map<Object, Bucket> buckets;
+	private final Bucket fallback;
+
+	private PluginKeyIndex(Map<Object, Bucket> buckets, Bucket fallback) {
+
+		this.buckets = buckets;
+		this.fallback = fallback;
+	}
+
+	/**
+	 * Creates a new {@link PluginKeyIndex} for the given plugins, if at least one of them is a {@link KeyedPlugin}.
+	 *
+	 * @param plugins must not be {@literal null}.
+	 * @return the index or {@literal null} if none of the given plugins is a {@link KeyedPlugin}.
+	 */
+	static @Nullable PluginKeyIndex of(Object[] plugins) {
+
+		Map<Object, List<Object>> keyed = new LinkedHashMap<>();
+
+		for (Object plugin : plugins) {
+			if (plugin instanceof KeyedPlugin<?> candidate) {
+				for (Object key : candidate.getSupportedKeys()) {
+					keyed.putIfAbsent(key, new ArrayList<>());
+				}
+			}
+		}
+
+		if (keyed.isEmpty()) {
+			return null;
+		}
+
+		List<Object> unkeyed = new ArrayList<>();
+
+		for (Object plugin : plugins) {
+
+			if (plugin instanceof KeyedPlugin<?> candidate) {
+
+				for (Object key : candidate.getSupportedKeys()) {
+					keyed.computeIfAbsent(key, __ -> new ArrayList<>()).add(plugin);
+				}
+
+			} else {
+
+				unkeyed.add(plugin);
+				keyed.values().forEach(it -> it.add(plugin));
+			}
+		}
+
+		Map<Object, Bucket> buckets = createMap(keyed.keySet());
+
+		keyed.forEach((key, candidates) -> buckets.put(key, new Bucket(candidates.toArray())));
+
+		return new PluginKeyIndex(buckets, new Bucket(unkeyed.toArray()));
+	}
+
+	/**
+	 * Returns all plugins potentially supporting the given delimiter in snapshot order.
+	 *
+	 * @param delimiter must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	Object[] getCandidates(Object delimiter) {
+
+		Bucket bucket = buckets.get(delimiter);
+
+		return (bucket == null ? fallback : bucket).getCandidates(delimiter);
+	}
+
+	/**
+	 * Creates an {@link EnumMap} if all given keys are constants of the same enum, a {@link HashMap} otherwise.
+	 *
+	 * @param keys must not be {@literal null} or empty.
+	 * @return will never be {@literal null}.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Map<Object, Bucket> createMap(Set<Object> keys) {
+
+		Class<?> enumType = null;
+
+		for (Object key : keys) {
+
+			if (!(key instanceof Enum<?> constant)
+					|| enumType != null && !enumType.equals(constant.getDeclaringClass())) {
+				return new HashMap<>(keys.size() * 2);
+			}
+
+			enumType = constant.getDeclaringClass();
+		}
+
+		return new EnumMap(enumType);
+	}
+
+	/**
+	 * The plugins to consider for a particular key.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	private static final class Bucket {
+
+		private final Object[] plugins;
+		private final @Nullable PluginTypeIndex typeIndex;
+
+		Bucket(Object[] plugins) {
+
+			this.plugins = plugins;
+			this.typeIndex = PluginTypeIndex.of(plugins);
+		}
+
+		Object[] getCandidates(Object delimiter) {
+
+			var typeIndex = this.typeIndex;
+
+			return typeIndex == null ? plugins : typeIndex.getCandidates(delimiter);
+		}
+	}
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Bounded cache of delimiter resolutions for a {@link PluginRegistry}. Memoizes the first matching {@link Plugin}, all
+ * matching {@link Plugin}s as well as misses per delimiter. Cached results are immutable and shared so that a cache hit
+ * does not allocate. Once the configured maximum size is reached, an entry that was not used recently is evicted using
+ * the CLOCK approximation of a least recently used policy: entries occupy the slots of a fixed array and are marked as
+ * referenced on a hit. To make room, a hand sweeps over the slots, giving referenced entries a second chance by
+ * clearing their mark and evicting the first unmarked one. Thus, a hit writes to shared state at most once between two
+ * sweeps and a miss evicts in amortized constant time.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ */
+class PluginLookupCache<T extends Plugin<S>, S> {
+
+	private final int maxSize;
+	private final @Nullable Function<? super S, ?> keyExtractor;
+	private final Map<Object, Resolution<T>> resolutions;
+	private final @Nullable Object[] keys;
+	private final @Nullable Resolution<?>[] slots;
+	private int used;
+	private int hand;
+
+	/**
+	 * Creates a new {@link PluginLookupCache} with the given maximum size and optional key extractor.
+	 *
+	 * @param maxSize must be greater than zero.
+	 * @param keyExtractor a {@link Function} to derive the cache key from the delimiter, can be {@literal null} to use
+	 *          the delimiter itself.
+	 */
+	PluginLookupCache(int maxSize, @Nullable Function<? super S, ?> keyExtractor) {
+
+		Assert.isTrue(maxSize > 0, "Maximum cache size must be greater than zero!");
+
+		this.maxSize = maxSize;
+		this.keyExtractor = keyExtractor;
+		this.resolutions = new ConcurrentHashMap<>(Math.min(maxSize, 256));
+		this.keys = new Object[maxSize];
+		this.slots = new Resolution<?>[maxSize];
+	}
+
+	/**
+	 * Returns the {@link Resolution} for the given delimiter, using the given resolver to calculate all matching plugins
+	 * in case none is cached yet.
+	 *
+	 * @param delimiter must not be {@literal null}.
+	 * @param resolver must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	Resolution<T> lookup(S delimiter, Function<S, List<T>> resolver) {
+
+		Object key = keyExtractor == null ? delimiter : keyExtractor.apply(delimiter);
+
+		Assert.notNull(key, "Cache key extracted from delimiter must not be null!");
+
+		Resolution<T> resolution = resolutions.get(key);
+
+		if (resolution != null) {
+
+			if (!resolution.referenced) {
+				resolution.referenced = true;
+			}
+
+			return resolution;
+		}
+
+		resolution = new Resolution<>(List.copyOf(resolver.apply(delimiter)));
+
+		synchronized (resolutions) {
+
+			Resolution<T> existing = resolutions.get(key);
+
+			if (existing != null) {
+				return existing;
+			}
+
+			int slot = used < maxSize ? used++ : evict();
+
+			keys[slot] = key;
+			slots[slot] = resolution;
+			resolutions.put(key, resolution);
+		}
+
+		return resolution;
+	}
+
+	/**
+	 * Drops all cached resolutions.
+	 */
+	void clear() {
+
+		synchronized (resolutions) {
+
+			resolutions.clear();
+			Arrays.fill(keys, null);
+			Arrays.fill(slots, null);
+			used = 0;
+			hand = 0;
+		}
+	}
+
+	/**
+	 * Returns the number of currently cached resolutions.
+	 *
+	 * @return
+	 */
+	int size() {
+		return resolutions.size();
+	}
+
+	/**
+	 * Evicts the entry at the first slot not referenced since the last sweep, clearing the marks of the entries passed.
+	 * Terminates after at most one full sweep, as all marks are cleared by then.
+	 *
+	 * @return the index of the slot freed.
+	 */
+	private int evict() {
+
+		while (true) {
+
+			int slot = hand;
+			Resolution<?> resolution = Objects.requireNonNull(slots[slot]);
+
+			hand = slot + 1 == maxSize ? 0 : slot + 1;
+
+			if (resolution.referenced) {
+				resolution.referenced = false;
+				continue;
+			}
+
+			resolutions.remove(Objects.requireNonNull(keys[slot]));
+
+			return slot;
+		}
+	}
+
+	/**
+	 * The cached result of resolving a delimiter against the plugins of a registry.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	static final class Resolution<T> {
+
+		private final List<T> plugins;
+		private final @Nullable T firstPlugin;
+		private final Optional<T> first;
+		private volatile boolean referenced;
+
+		private Resolution(List<T> plugins) {
+
+			this.plugins = plugins;
+			this.firstPlugin = plugins.isEmpty() ? null : plugins.get(0);
+			this.first = Optional.ofNullable(firstPlugin);
+		}
+
+		/**
+		 * Returns the first matching plugin, if any.
+		 *
+		 * @return can be {@literal null}.
+		 */
+		@Nullable
+		T getFirstPlugin() {
+			return firstPlugin;
+		}
+
+		/**
+		 * Returns the first matching plugin, if any.
+		 *
+		 * @return will never be {@literal null}.
+		 */
+		Optional<T> getFirst() {
+			return first;
+		}
+
+		/**
+		 * Returns all matching plugins as immutable {@link List}.
+		 *
+		 * @return will never be {@literal null}.
+		 */
+		List<T> getPlugins() {
+			return plugins;
+		}
+	}
+}
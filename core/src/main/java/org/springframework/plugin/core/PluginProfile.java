@@ -0,0 +1,113 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+/**
+ * Snapshot of the {@link Plugin#supports(Object)} timings sampled for a single plugin by a {@link PluginProfiler}.
+ * Percentiles are upper bounds derived from histograms with power-of-two bucket boundaries.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ */
+public final class PluginProfile {
+
+	private final Plugin<?> plugin;
+	private final long[] wallTimes;
+	private final long[] cpuTimes;
+	private final long budgetViolations;
+
+	PluginProfile(Plugin<?> plugin, long[] wallTimes, long[] cpuTimes, long budgetViolations) {
+
+		this.plugin = plugin;
+		this.wallTimes = wallTimes;
+		this.cpuTimes = cpuTimes;
+		this.budgetViolations = budgetViolations;
+	}
+
+	/**
+	 * Returns the plugin profiled.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	public Plugin<?> getPlugin() {
+		return plugin;
+	}
+
+	/**
+	 * Returns the number of sampled invocations.
+	 *
+	 * @return
+	 */
+	public long getSamples() {
+
+		long result = 0;
+
+		for (long count : wallTimes) {
+			result += count;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns an upper bound for the given percentile of the wall time of the sampled invocations in nanoseconds.
+	 *
+	 * @param percentile between {@literal 0.0} and {@literal 1.0}.
+	 * @return
+	 */
+	public long getWallTimePercentileNanos(double percentile) {
+		return LatencyHistogram.getPercentile(wallTimes, percentile);
+	}
+
+	/**
+	 * Returns an upper bound for the given percentile of the CPU time of the sampled invocations in nanoseconds. Returns
+	 * {@literal 0} if the JVM doesn't support measuring the CPU time of the current thread.
+	 *
+	 * @param percentile between {@literal 0.0} and {@literal 1.0}.
+	 * @return
+	 */
+	public long getCpuTimePercentileNanos(double percentile) {
+		return LatencyHistogram.getPercentile(cpuTimes, percentile);
+	}
+
+	/**
+	 * Returns the number of sampled invocations that exceeded the budget configured for the {@link PluginProfiler}.
+	 *
+	 * @return
+	 */
+	public long getBudgetViolations() {
+		return budgetViolations;
+	}
+
+	/**
+	 * Returns whether at least one sampled invocation exceeded the budget configured for the {@link PluginProfiler}.
+	 *
+	 * @return
+	 */
+	public boolean isOverBudget() {
+		return budgetViolations > 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return String.format("PluginProfile(plugin=%s, samples=%s, wallTimeP99=%sns, cpuTimeP99=%sns, budgetViolations=%s)",
+				plugin, getSamples(), getWallTimePercentileNanos(0.99), getCpuTimePercentileNanos(0.99), budgetViolations);
+	}
+}
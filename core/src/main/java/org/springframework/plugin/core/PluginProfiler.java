@@ -0,0 +1,172 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Sampling profiler for {@link Plugin#supports(Object)} invocations. Times every invocation with a probability of one
+ * in the configured sample rate and records wall and CPU time per plugin. Invocations that are not sampled only pay for
+ * a thread-local random number, so that the profiler can stay enabled in production. Plugins exceeding the configured
+ * budget in a sampled invocation are logged once and flagged in their {@link PluginProfile}. A single profiler can be
+ * shared by multiple registries.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ * @see SimplePluginRegistry#withProfiler(PluginProfiler)
+ */
+public class PluginProfiler {
+
+	private static final Logger LOG = LoggerFactory.getLogger(PluginProfiler.class);
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+	private final int sampleRate;
+	private final long budgetNanos;
+	private final boolean cpuTimeSupported;
+	private final Map<Plugin<?>, Samples> samples = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a new {@link PluginProfiler} sampling one in {@code sampleRate} invocations and flagging plugins taking
+	 * longer than the given budget.
+	 *
+	 * @param sampleRate must be greater than zero, {@literal 1} to time every invocation.
+	 * @param budget must not be {@literal null} or negative.
+	 */
+	public PluginProfiler(int sampleRate, Duration budget) {
+
+		Assert.isTrue(sampleRate > 0, "Sample rate must be greater than zero!");
+		Assert.notNull(budget, "Budget must not be null!");
+		Assert.isTrue(!budget.isNegative(), "Budget must not be negative!");
+
+		this.sampleRate = sampleRate;
+		this.budgetNanos = budget.toNanos();
+		this.cpuTimeSupported = THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled();
+	}
+
+	/**
+	 * Invokes {@link Plugin#supports(Object)} on the given plugin, timing the invocation if it is sampled.
+	 *
+	 * @param plugin must not be {@literal null}.
+	 * @param delimiter must not be {@literal null}.
+	 * @return the result of the invocation.
+	 */
+	<S> boolean supports(Plugin<S> plugin, S delimiter) {
+
+		if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+			return plugin.supports(delimiter);
+		}
+
+		long cpuStart = cpuTimeSupported ? THREADS.getCurrentThreadCpuTime() : 0;
+		long start = System.nanoTime();
+
+		try {
+			return plugin.supports(delimiter);
+		} finally {
+
+			long wallTime = System.nanoTime() - start;
+			long cpuTime = cpuTimeSupported ? THREADS.getCurrentThreadCpuTime() - cpuStart : -1;
+
+			record(plugin, wallTime, cpuTime);
+		}
+	}
+
+	/**
+	 * Returns the {@link PluginProfile}s of all plugins sampled so far, the slowest ones, i.e. the ones with the highest
+	 * 99th percentile of wall time, first.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	public List<PluginProfile> getProfiles() {
+
+		List<PluginProfile> result = new ArrayList<>(samples.size());
+
+		samples.forEach((plugin, samples) -> result.add(samples.toProfile(plugin)));
+		result.sort(Comparator.comparingLong((PluginProfile it) -> it.getWallTimePercentileNanos(0.99)).reversed());
+
+		return result;
+	}
+
+	/**
+	 * Returns the {@link PluginProfile}s of all plugins that exceeded the budget in at least one sampled invocation, the
+	 * slowest ones first.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	public List<PluginProfile> getPluginsOverBudget() {
+
+		return getProfiles().stream() //
+				.filter(PluginProfile::isOverBudget) //
+				.toList();
+	}
+
+	/**
+	 * Drops all samples recorded so far.
+	 */
+	public void reset() {
+		samples.clear();
+	}
+
+	private void record(Plugin<?> plugin, long wallTime, long cpuTime) {
+
+		Samples result = samples.get(plugin);
+
+		if (result == null) {
+			result = samples.computeIfAbsent(plugin, __ -> new Samples());
+		}
+
+		result.wallTimes.record(wallTime);
+
+		if (cpuTime >= 0) {
+			result.cpuTimes.record(cpuTime);
+		}
+
+		if (wallTime > budgetNanos) {
+
+			result.violations.increment();
+
+			if (result.reported.compareAndSet(false, true)) {
+				LOG.warn("Plugin {} took {}ns in supports(…), exceeding the budget of {}ns!", plugin, wallTime,
+						budgetNanos);
+			}
+		}
+	}
+
+	private static class Samples {
+
+		private final LatencyHistogram wallTimes = new LatencyHistogram();
+		private final LatencyHistogram cpuTimes = new LatencyHistogram();
+		private final LongAdder violations = new LongAdder();
+		private final AtomicBoolean reported = new AtomicBoolean();
+
+		PluginProfile toProfile(Plugin<?> plugin) {
+			return new PluginProfile(plugin, wallTimes.getCounts(), cpuTimes.getCounts(), violations.sum());
+		}
+	}
+}
@@ -15,13 +15,23 @@
  */
 package org.springframework.plugin.core;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+import org.jspecify.annotations.Nullable;
 import org.springframework.util.Assert;
 
 /**
@@ -106,6 +116,19 @@ public interface PluginRegistry<T extends Plugin<S>, S> extends Iterable<T> {
 	 */
 	Optional<T> getPluginFor(S delimiter);
 
+	/**
+	 * Returns the first {@link Plugin} found for the given delimiter or {@literal null} if none found. Other than
+	 * {@link #getPluginFor(Object)} this does not wrap the result, so that implementations can look up plugins without
+	 * allocating any objects.
+	 *
+	 * @param delimiter must not be {@literal null}.
+	 * @return a plugin for the given delimiter or {@literal null} if none found.
+	 * @since 4.2
+	 */
+	default @Nullable T findPluginFor(S delimiter) {
+		return getPluginFor(delimiter).orElse(null);
+	}
+
 	/**
 	 * Returns the first {@link Plugin} found for the given delimiter. Thus, further configured {@link Plugin}s are
 	 * ignored.
@@ -135,6 +158,39 @@ public interface PluginRegistry<T extends Plugin<S>, S> extends Iterable<T> {
 	 */
 	List<T> getPluginsFor(S delimiter);
 
+	/**
+	 * Returns at most the given number of plugins for the given delimiter. Plugins are evaluated in order and only until
+	 * the limit is reached.
+	 *
+	 * @param delimiter must not be {@literal null}.
+	 * @param limit the maximum number of plugins to return, must not be negative.
+	 * @return a list of plugins or an empty list if none found, will never be {@literal null}.
+	 * @since 4.2
+	 */
+	default List<T> getPluginsFor(S delimiter, int limit) {
+
+		Assert.isTrue(limit >= 0, "Limit must not be negative!");
+
+		return streamPluginsFor(delimiter).limit(limit).toList();
+	}
+
+	/**
+	 * Returns a lazy {@link Stream} of all plugins for the given delimiter. Plugins are only evaluated as the
+	 * {@link Stream} is consumed, so that short-circuiting operations like {@link Stream#findFirst()},
+	 * {@link Stream#limit(long)} or {@link Stream#takeWhile(java.util.function.Predicate)} avoid evaluating the
+	 * remaining plugins.
+	 *
+	 * @param delimiter must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 * @since 4.2
+	 */
+	default Stream<T> streamPluginsFor(S delimiter) {
+
+		Assert.notNull(delimiter, "Delimiter must not be null!");
+
+		return getPlugins().stream().filter(it -> it.supports(delimiter));
+	}
+
 	/**
 	 * Retrieves a required plugin from the registry or throw the given exception if none can be found. If more than one
 	 * plugins are found the first one will be returned.
@@ -190,6 +246,127 @@ public interface PluginRegistry<T extends Plugin<S>, S> extends Iterable<T> {
 	 */
 	List<T> getPluginsFor(S delimiter, List<? extends T> plugins);
 
+	/**
+	 * Looks up the first {@link Plugin} supporting each of the given delimiters. Equal delimiters are only resolved once.
+	 * Prefer this over invoking {@link #findPluginFor(Object)} for every element of a large batch of delimiters, as
+	 * implementations can amortize the cost of a lookup across the batch.
+	 *
+	 * @param delimiters must not be {@literal null} or contain {@literal null} elements.
+	 * @return a {@link List} aligned with the given delimiters, containing the first {@link Plugin} supporting the
+	 *         delimiter at the same position or {@literal null} if none supports it. Will never be {@literal null}.
+	 * @since 4.2
+	 */
+	default List<@Nullable T> findPluginForEach(List<? extends S> delimiters) {
+
+		Assert.notNull(delimiters, "Delimiters must not be null!");
+
+		Map<S, Optional<T>> resolved = new HashMap<>();
+		List<@Nullable T> result = new ArrayList<>(delimiters.size());
+
+		for (S delimiter : delimiters) {
+
+			Assert.notNull(delimiter, "Delimiters must not contain null!");
+
+			result.add(resolved.computeIfAbsent(delimiter, this::getPluginFor).orElse(null));
+		}
+
+		return result;
+	}
+
+	/**
+	 * Looks up the first {@link Plugin} supporting each of the given delimiters. Equal delimiters are only resolved once.
+	 *
+	 * @param delimiters must not be {@literal null} or contain {@literal null} elements.
+	 * @return a {@link Map} of all given delimiters at least one {@link Plugin} supports to the first one supporting it,
+	 *         in the iteration order of the given delimiters. Will never be {@literal null}.
+	 * @since 4.2
+	 * @see #findPluginForEach(List)
+	 */
+	default Map<S, T> getPluginForEach(Collection<? extends S> delimiters) {
+
+		Assert.notNull(delimiters, "Delimiters must not be null!");
+
+		List<S> distinct = new ArrayList<>(new LinkedHashSet<>(delimiters));
+		List<@Nullable T> plugins = findPluginForEach(distinct);
+		Map<S, T> result = new LinkedHashMap<>(distinct.size());
+
+		for (int i = 0; i < distinct.size(); i++) {
+
+			T plugin = plugins.get(i);
+
+			if (plugin != null) {
+				result.put(distinct.get(i), plugin);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Asynchronously looks up the first {@link Plugin} supporting the given delimiter. Use this if
+	 * {@link Plugin#supports(Object)} implementations block, e.g. to access the file system. Plugins are evaluated on
+	 * virtual threads if the runtime supports them, on a bounded pool of daemon threads shared by all registries otherwise.
+	 *
+	 * @param delimiter must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 * @since 4.2
+	 * @see #getPluginForAsync(Object, Executor)
+	 */
+	default CompletableFuture<Optional<T>> getPluginForAsync(S delimiter) {
+		return getPluginForAsync(delimiter, AsyncPluginLookup.getDefaultExecutor());
+	}
+
+	/**
+	 * Asynchronously looks up the first {@link Plugin} supporting the given delimiter, evaluating the plugins on the
+	 * given {@link Executor}. Implementations may evaluate the plugins concurrently but must complete with the same
+	 * result as {@link #getPluginFor(Object)}. Cancelling the returned {@link CompletableFuture} cancels all outstanding
+	 * evaluations.
+	 *
+	 * @param delimiter must not be {@literal null}.
+	 * @param executor must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 * @since 4.2
+	 */
+	default CompletableFuture<Optional<T>> getPluginForAsync(S delimiter, Executor executor) {
+
+		Assert.notNull(delimiter, "Delimiter must not be null!");
+		Assert.notNull(executor, "Executor must not be null!");
+
+		return CompletableFuture.supplyAsync(() -> getPluginFor(delimiter), executor);
+	}
+
+	/**
+	 * Asynchronously looks up all {@link Plugin}s supporting the given delimiter. Plugins are evaluated on virtual
+	 * threads if the runtime supports them, on a bounded pool of daemon threads shared by all registries otherwise.
+	 *
+	 * @param delimiter must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 * @since 4.2
+	 * @see #getPluginsForAsync(Object, Executor)
+	 */
+	default CompletableFuture<List<T>> getPluginsForAsync(S delimiter) {
+		return getPluginsForAsync(delimiter, AsyncPluginLookup.getDefaultExecutor());
+	}
+
+	/**
+	 * Asynchronously looks up all {@link Plugin}s supporting the given delimiter, evaluating the plugins on the given
+	 * {@link Executor}. Implementations may evaluate the plugins concurrently but must complete with the same result as
+	 * {@link #getPluginsFor(Object)}. Cancelling the returned {@link CompletableFuture} cancels all outstanding
+	 * evaluations.
+	 *
+	 * @param delimiter must not be {@literal null}.
+	 * @param executor must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 * @since 4.2
+	 */
+	default CompletableFuture<List<T>> getPluginsForAsync(S delimiter, Executor executor) {
+
+		Assert.notNull(delimiter, "Delimiter must not be null!");
+		Assert.notNull(executor, "Executor must not be null!");
+
+		return CompletableFuture.supplyAsync(() -> getPluginsFor(delimiter), executor);
+	}
+
 	/**
 	 * Returns the number of registered plugins.
 	 *
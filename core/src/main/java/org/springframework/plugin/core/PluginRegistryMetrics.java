@@ -0,0 +1,150 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lookup metrics of a single registry as recorded by {@link InMemoryPluginRegistryObserver}. All counters are striped
+ * so that concurrent lookups don't contend on them. Lookup latencies are kept in a histogram with power-of-two bucket
+ * boundaries, i.e. bucket {@code i} counts the lookups that took less than 2<sup>i</sup> but at least
+ * 2<sup>i-1</sup> nanoseconds.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ */
+public final class PluginRegistryMetrics {
+
+	private final LongAdder lookups = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LatencyHistogram latencies = new LatencyHistogram();
+	private final Map<Plugin<?>, LongAdder> matches = new ConcurrentHashMap<>();
+
+	PluginRegistryMetrics() {}
+
+	void recordLookup(int matches, long durationNanos) {
+
+		lookups.increment();
+
+		if (matches == 0) {
+			misses.increment();
+		}
+
+		latencies.record(durationNanos);
+	}
+
+	void recordMatch(Plugin<?> plugin) {
+
+		LongAdder counter = matches.get(plugin);
+
+		if (counter == null) {
+			counter = matches.computeIfAbsent(plugin, __ -> new LongAdder());
+		}
+
+		counter.increment();
+	}
+
+	/**
+	 * Returns the number of lookups performed.
+	 *
+	 * @return
+	 */
+	public long getLookups() {
+		return lookups.sum();
+	}
+
+	/**
+	 * Returns the number of lookups that didn't find any plugin.
+	 *
+	 * @return
+	 */
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * Returns the ratio of lookups that found at least one plugin. Returns {@literal 0.0} if no lookup was performed yet.
+	 *
+	 * @return
+	 */
+	public double getHitRatio() {
+
+		long lookups = getLookups();
+
+		return lookups == 0 ? 0.0 : (double) (lookups - getMisses()) / lookups;
+	}
+
+	/**
+	 * Returns the average lookup latency in nanoseconds. Returns {@literal 0.0} if no lookup was performed yet.
+	 *
+	 * @return
+	 */
+	public double getMeanLatencyNanos() {
+
+		long lookups = getLookups();
+
+		return lookups == 0 ? 0.0 : (double) latencies.getTotal() / lookups;
+	}
+
+	/**
+	 * Returns a copy of the lookup latency histogram. The element at index {@code i} is the number of lookups that took
+	 * less than 2<sup>i</sup> but at least 2<sup>i-1</sup> nanoseconds.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	public long[] getLatencyHistogram() {
+		return latencies.getCounts();
+	}
+
+	/**
+	 * Returns an upper bound for the given percentile of lookup latencies in nanoseconds, derived from the bucket
+	 * boundaries of the latency histogram. Returns {@literal 0} if no lookup was performed yet.
+	 *
+	 * @param percentile between {@literal 0.0} and {@literal 1.0}.
+	 * @return
+	 */
+	public long getLatencyPercentileNanos(double percentile) {
+		return LatencyHistogram.getPercentile(latencies.getCounts(), percentile);
+	}
+
+	/**
+	 * Returns the number of lookups each plugin was found by.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	public Map<Plugin<?>, Long> getMatchCounts() {
+
+		Map<Plugin<?>, Long> result = new LinkedHashMap<>();
+
+		matches.forEach((plugin, counter) -> result.put(plugin, counter.sum()));
+
+		return Collections.unmodifiableMap(result);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return String.format("PluginRegistryMetrics(lookups=%s, misses=%s, meanLatencyNanos=%.1f)", getLookups(),
+				getMisses(), getMeanLatencyNanos());
+	}
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+/**
+ * SPI to get notified about the lookups performed by a {@link PluginRegistry}, e.g. to record metrics. Observers are
+ * invoked synchronously on the thread performing the lookup, or completing it for asynchronous lookups, so
+ * implementations must be thread-safe and should return quickly. Registries without an observer configured don't
+ * measure lookups at all.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ * @see SimplePluginRegistry#withObserver(String, PluginRegistryObserver)
+ * @see InMemoryPluginRegistryObserver
+ */
+public interface PluginRegistryObserver {
+
+	/**
+	 * Invoked once a registry has resolved a delimiter. Lookups for a single plugin report at most one match.
+	 *
+	 * @param registry the name of the registry, will never be {@literal null}.
+	 * @param matches the number of plugins found, {@literal 0} for a miss.
+	 * @param durationNanos the time the lookup took in nanoseconds.
+	 */
+	void onLookup(String registry, int matches, long durationNanos);
+
+	/**
+	 * Invoked for every plugin found by a lookup, before {@link #onLookup(String, int, long)} is invoked for the very
+	 * same lookup.
+	 *
+	 * @param registry the name of the registry, will never be {@literal null}.
+	 * @param plugin the plugin found, will never be {@literal null}.
+	 */
+	default void onMatch(String registry, Plugin<?> plugin) {}
+}
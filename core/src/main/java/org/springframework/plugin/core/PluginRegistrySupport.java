@@ -17,40 +17,57 @@ package org.springframework.plugin.core;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
+import org.jspecify.annotations.Nullable;
 import org.springframework.util.Assert;
-import org.springframework.util.function.SingletonSupplier;
 
 /**
- * Base class for {@link PluginRegistry} implementations. Implements an initialization mechanism triggered on forst
- * invocation of {@link #getPlugins()}.
+ * Base class for {@link PluginRegistry} implementations. Implements an initialization mechanism triggered on first
+ * invocation of {@link #getPlugins()}. The plugins obtained are held in an immutable snapshot that is reused for all
+ * subsequent invocations until {@link #refresh()} is called. The snapshot can also be built eagerly using
+ * {@link #initialize(Executor)}, {@link #whenReady()} exposes when it is available.
  *
  * @author Oliver Gierke
  */
 abstract class PluginRegistrySupport<T extends Plugin<S>, S> implements PluginRegistry<T, S>, Iterable<T> {
 
-	private final Supplier<List<T>> plugins;
+	private final Supplier<List<? extends T>> source;
+	private final Object monitor = new Object();
+	private final CompletableFuture<PluginRegistry<T, S>> ready = new CompletableFuture<>();
+	private volatile @Nullable PluginSnapshot<T> snapshot;
 
 	/**
 	 * Creates a new {@link PluginRegistrySupport} instance using the given plugins.
 	 *
 	 * @param plugins must not be {@literal null}.
 	 */
-	@SuppressWarnings("unchecked")
 	public PluginRegistrySupport(List<? extends T> plugins) {
 
 		Assert.notNull(plugins, "Plugins must not be null!");
 
-		this.plugins = SingletonSupplier.of((List<T>) plugins.stream().filter(it -> it != null).toList());
+		PluginSnapshot<T> snapshot = PluginSnapshot.of(plugins);
+		List<T> list = snapshot.asList();
+
+		this.source = () -> list;
+		this.snapshot = snapshot;
+		this.ready.complete(this);
 	}
 
-	@SuppressWarnings("unchecked")
+	/**
+	 * Creates a new {@link PluginRegistrySupport} instance lazily obtaining the plugins from the given {@link Supplier}
+	 * on first access.
+	 *
+	 * @param plugins must not be {@literal null}.
+	 */
 	protected PluginRegistrySupport(Supplier<List<? extends T>> plugins) {
 
-		this.plugins = () -> (List<T>) plugins.get().stream()
-				.filter(it -> it != null)
-				.toList();
+		Assert.notNull(plugins, "Plugins must not be null!");
+
+		this.source = plugins;
 	}
 
 	/**
@@ -61,7 +78,142 @@ abstract class PluginRegistrySupport<T extends Plugin<S>, S> implements PluginRe
 	 * @return all plugins of the registry
 	 */
 	public List<T> getPlugins() {
-		return plugins.get();
+		return getSnapshot().asList();
+	}
+
+	/**
+	 * Builds the snapshot of plugins on the given {@link Executor} unless already available, so that the first lookup
+	 * doesn't have to wait for the plugins to be obtained from the source the registry was created with.
+	 *
+	 * @param executor must not be {@literal null}.
+	 * @return a {@link CompletableFuture} completing with the registry once its plugins are available or exceptionally
+	 *         if they could not be obtained, will never be {@literal null}.
+	 * @since 4.2
+	 * @see #whenReady()
+	 */
+	public CompletableFuture<PluginRegistry<T, S>> initialize(Executor executor) {
+
+		Assert.notNull(executor, "Executor must not be null!");
+
+		if (snapshot != null) {
+			return whenReady();
+		}
+
+		return CompletableFuture.supplyAsync(() -> {
+
+			getSnapshot();
+
+			return this;
+		}, executor);
+	}
+
+	/**
+	 * Returns a {@link CompletableFuture} completing with the registry once its plugins have been obtained for the
+	 * first time, be it by a lookup or by {@link #initialize(Executor)}. Failures to obtain the plugins don't complete
+	 * the future, as the registry retries on next access.
+	 *
+	 * @return will never be {@literal null}.
+	 * @since 4.2
+	 */
+	public CompletableFuture<PluginRegistry<T, S>> whenReady() {
+		return ready.copy();
+	}
+
+	/**
+	 * Discards the current snapshot of plugins so that the next access obtains them from the source the registry was
+	 * created with again. Use this in case the content of the {@link Supplier} backing the registry has changed. For
+	 * registries created from a {@link List}, the snapshot is rebuilt from that very same list.
+	 *
+	 * @since 4.2
+	 */
+	public void refresh() {
+
+		synchronized (monitor) {
+			this.snapshot = null;
+		}
+	}
+
+	/**
+	 * Eagerly obtains the plugins from the source the registry was created with again and atomically replaces the
+	 * current snapshot with them. In contrast to {@link #refresh()}, lookups keep using the previous snapshot until the
+	 * new one is completely built, so that they neither wait for the source nor see a partially built list of plugins.
+	 *
+	 * @since 4.2
+	 */
+	public void reload() {
+		setSnapshot(PluginSnapshot.of(source.get()));
+	}
+
+	/**
+	 * Returns the current {@link PluginSnapshot}, creating it from the source if necessary.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	PluginSnapshot<T> getSnapshot() {
+
+		var snapshot = this.snapshot;
+
+		if (snapshot != null) {
+			return snapshot;
+		}
+
+		synchronized (monitor) {
+
+			snapshot = this.snapshot;
+
+			if (snapshot == null) {
+				snapshot = PluginSnapshot.of(source.get());
+				this.snapshot = snapshot;
+			}
+		}
+
+		ready.complete(this);
+
+		return snapshot;
+	}
+
+	/**
+	 * Publishes the given {@link PluginSnapshot} as the current one.
+	 *
+	 * @param snapshot must not be {@literal null}.
+	 */
+	void setSnapshot(PluginSnapshot<T> snapshot) {
+
+		synchronized (monitor) {
+			this.snapshot = snapshot;
+		}
+
+		ready.complete(this);
+	}
+
+	/**
+	 * Replaces the current {@link PluginSnapshot} with the given one, unless the registry was refreshed in the meantime.
+	 *
+	 * @param expected the snapshot expected to be current, must not be {@literal null}.
+	 * @param replacement must not be {@literal null}.
+	 * @return whether the snapshot was replaced.
+	 */
+	boolean replaceSnapshot(PluginSnapshot<T> expected, PluginSnapshot<T> replacement) {
+
+		synchronized (monitor) {
+
+			if (this.snapshot != expected) {
+				return false;
+			}
+
+			this.snapshot = replacement;
+
+			return true;
+		}
+	}
+
+	/**
+	 * Returns the source the plugins of the registry are obtained from.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	Supplier<List<? extends T>> getSource() {
+		return source;
 	}
 
 	/*
@@ -72,4 +224,13 @@ abstract class PluginRegistrySupport<T extends Plugin<S>, S> implements PluginRe
 	public Iterator<T> iterator() {
 		return getPlugins().iterator();
 	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Iterable#spliterator()
+	 */
+	@Override
+	public Spliterator<T> spliterator() {
+		return getSnapshot().spliterator();
+	}
 }
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * An immutable, array-backed snapshot of the plugins of a {@link PluginRegistry}. Allows plain indexed iteration over
+ * the plugins on lookup hot paths and exposes a read-only {@link List} view of the very same array. Also holds the
+ * lookup indexes derived from the plugins, so that they're rebuilt whenever a registry creates a new snapshot.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ */
+final class PluginSnapshot<T> {
+
+	private static final PluginSnapshot<?> EMPTY = new PluginSnapshot<>(new Object[0]);
+
+	private final Object[] plugins;
+	private final List<T> list;
+	private final @Nullable PluginKeyIndex keyIndex;
+	private final @Nullable PluginTypeIndex typeIndex;
+	private volatile Map<Object[], CompiledDispatcher> dispatchers = Collections.emptyMap();
+	private volatile @Nullable Map<Object, Integer> positions;
+
+	@SuppressWarnings("unchecked")
+	private PluginSnapshot(Object[] plugins) {
+
+		this.plugins = plugins;
+		this.list = Collections.unmodifiableList((List<T>) Arrays.asList(plugins));
+		this.keyIndex = PluginKeyIndex.of(plugins);
+		this.typeIndex = keyIndex == null ? PluginTypeIndex.of(plugins) : null;
+	}
+
+	/**
+	 * Creates a new {@link PluginSnapshot} for the given plugins, dropping {@literal null} values.
+	 *
+	 * @param plugins must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> PluginSnapshot<T> of(List<? extends T> plugins) {
+
+		Object[] array = plugins.stream().filter(Objects::nonNull).toArray();
+
+		return array.length == 0 ? (PluginSnapshot<T>) EMPTY : new PluginSnapshot<>(array);
+	}
+
+	/**
+	 * Returns the number of plugins in the snapshot.
+	 *
+	 * @return
+	 */
+	int size() {
+		return plugins.length;
+	}
+
+	/**
+	 * Returns whether the given candidates are the plugins of the snapshot themselves, i.e. were not narrowed down by an
+	 * index, so that their positions are the ones in the snapshot.
+	 *
+	 * @param candidates must not be {@literal null}.
+	 * @return
+	 */
+	boolean isPlugins(Object[] candidates) {
+		return candidates == plugins;
+	}
+
+	/**
+	 * Returns the position of the given plugin in the snapshot. The positions are calculated on first use.
+	 *
+	 * @param plugin must not be {@literal null}.
+	 * @return the position of the plugin or {@literal -1} if it is not part of the snapshot.
+	 */
+	int indexOf(Object plugin) {
+
+		var positions = this.positions;
+
+		// Racy, but the positions computed concurrently are equal
+		if (positions == null) {
+
+			positions = new IdentityHashMap<>(plugins.length);
+
+			for (int i = plugins.length - 1; i >= 0; i--) {
+				positions.put(plugins[i], i);
+			}
+
+			this.positions = positions;
+		}
+
+		Integer position = positions.get(plugin);
+
+		return position == null ? -1 : position;
+	}
+
+	/**
+	 * Returns the plugins to consider for the given delimiter in snapshot order. The returned array must not be modified.
+	 *
+	 * @param delimiter must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 * @see PluginKeyIndex
+	 * @see PluginTypeIndex
+	 */
+	Object[] getCandidates(Object delimiter) {
+
+		var keyIndex = this.keyIndex;
+
+		if (keyIndex != null) {
+			return keyIndex.getCandidates(delimiter);
+		}
+
+		var typeIndex = this.typeIndex;
+
+		return typeIndex == null ? plugins : typeIndex.getCandidates(delimiter);
+	}
+
+	/**
+	 * Returns the {@link PluginDispatcher} for the given candidates, which must have been obtained from
+	 * {@link #getCandidates(Object)} of this snapshot for the given delimiter. Dispatchers are compiled on first use and
+	 * kept for the lifetime of the snapshot, so that they're only ever rebuilt if the registry creates a new one.
+	 *
+	 * @param delimiter must not be {@literal null}.
+	 * @param candidates must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	PluginDispatcher getDispatcher(Object delimiter, Object[] candidates) {
+
+		CompiledDispatcher compiled = dispatchers.get(candidates);
+
+		return compiled != null ? compiled.dispatcher() : compileDispatcher(delimiter, candidates);
+	}
+
+	/**
+	 * Compiles the dispatchers for all candidates the given previous snapshot has compiled dispatchers for, so that
+	 * lookups don't have to compile them once the snapshot replaces the previous one.
+	 *
+	 * @param previous must not be {@literal null}.
+	 */
+	void compileDispatchers(PluginSnapshot<?> previous) {
+
+		for (CompiledDispatcher compiled : previous.dispatchers.values()) {
+
+			Object[] candidates = getCandidates(compiled.delimiter());
+
+			if (candidates.length > 0) {
+				getDispatcher(compiled.delimiter(), candidates);
+			}
+		}
+	}
+
+	private synchronized PluginDispatcher compileDispatcher(Object delimiter, Object[] candidates) {
+
+		CompiledDispatcher compiled = dispatchers.get(candidates);
+
+		if (compiled != null) {
+			return compiled.dispatcher();
+		}
+
+		PluginDispatcher dispatcher = PluginDispatcherCompiler.compile(candidates);
+
+		// Copy on write, so that lookups never have to synchronize
+		Map<Object[], CompiledDispatcher> copy = new IdentityHashMap<>(dispatchers);
+		copy.put(candidates, new CompiledDispatcher(dispatcher, delimiter));
+
+		this.dispatchers = copy;
+
+		return dispatcher;
+	}
+
+	/**
+	 * Returns a {@link Spliterator} over the plugins that is sized, ordered and immutable, so that parallel streams can
+	 * split it evenly.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	@SuppressWarnings("unchecked")
+	Spliterator<T> spliterator() {
+		return (Spliterator<T>) Spliterators.spliterator(plugins,
+				Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL);
+	}
+
+	/**
+	 * Returns a read-only {@link List} view of the snapshot.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	List<T> asList() {
+		return list;
+	}
+
+	/**
+	 * A compiled {@link PluginDispatcher} along with a delimiter the candidates it was compiled for were obtained for,
+	 * so that the dispatcher for the corresponding candidates of a reordered snapshot can be compiled upfront.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	private record CompiledDispatcher(PluginDispatcher dispatcher, Object delimiter) {}
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.core.DecoratingProxy;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.core.annotation.OrderUtils;
+
+/**
+ * Sorts plugins. Sorting by the default comparators of {@link OrderAwarePluginRegistry} doesn't resolve the order of
+ * the plugins on every comparison but computes a primitive order key per plugin once, looking up {@code @Order} and
+ * {@code @Priority} annotations only once per plugin class. The keys also encode the original position of the plugin,
+ * so that plugins of equal order keep their relative order. Large numbers of plugins are sorted in parallel.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ */
+final class PluginSorter {
+
+	/**
+	 * The number of plugins from which on they're sorted in parallel.
+	 */
+	static final int PARALLEL_THRESHOLD = 1 << 13;
+
+	private static final long POSITION_MASK = (1L << 31) - 1;
+	private static final long MAX_RANK = (1L << 33) - 1;
+
+	private static final ClassValue<Integer> ANNOTATED_ORDERS = new ClassValue<>() {
+
+		@Override
+		protected Integer computeValue(Class<?> type) {
+			return OrderUtils.getOrder(type, Ordered.LOWEST_PRECEDENCE);
+		}
+	};
+
+	private PluginSorter() {}
+
+	/**
+	 * Returns a new {@link List} containing the given plugins sorted by the given {@link Comparator}, dropping
+	 * {@literal null} ones. Plugins of equal order keep their relative order.
+	 *
+	 * @param plugins must not be {@literal null}.
+	 * @param comparator must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> List<T> sort(Collection<? extends T> plugins, Comparator<? super T> comparator) {
+
+		Object[] source = plugins.stream().filter(Objects::nonNull).toArray();
+
+		if (comparator == OrderAwarePluginRegistry.DEFAULT_COMPARATOR) {
+			return sortByKeys(source, false);
+		}
+
+		if (comparator == OrderAwarePluginRegistry.DEFAULT_REVERSE_COMPARATOR) {
+			return sortByKeys(source, true);
+		}
+
+		T[] result = (T[]) source;
+
+		if (result.length >= PARALLEL_THRESHOLD) {
+			Arrays.parallelSort(result, comparator);
+		} else {
+			Arrays.sort(result, comparator);
+		}
+
+		return new ArrayList<>(Arrays.asList(result));
+	}
+
+	/**
+	 * Returns the {@link Comparator} reverting the given one, preserving the identity of the default comparators.
+	 *
+	 * @param comparator must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> Comparator<? super T> reverse(Comparator<? super T> comparator) {
+
+		if (comparator == OrderAwarePluginRegistry.DEFAULT_COMPARATOR) {
+			return OrderAwarePluginRegistry.DEFAULT_REVERSE_COMPARATOR;
+		}
+
+		if (comparator == OrderAwarePluginRegistry.DEFAULT_REVERSE_COMPARATOR) {
+			return OrderAwarePluginRegistry.DEFAULT_COMPARATOR;
+		}
+
+		return ((Comparator<T>) comparator).reversed();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> List<T> sortByKeys(Object[] plugins, boolean reverse) {
+
+		long[] keys = new long[plugins.length];
+
+		for (int i = 0; i < plugins.length; i++) {
+
+			long rank = getRank(plugins[i]);
+
+			// Rank in the upper 33 bits, position in the lower 31 ones, shifted into the signed range
+			keys[i] = ((reverse ? MAX_RANK - rank : rank) << 31 | i) ^ Long.MIN_VALUE;
+		}
+
+		if (keys.length >= PARALLEL_THRESHOLD) {
+			Arrays.parallelSort(keys);
+		} else {
+			Arrays.sort(keys);
+		}
+
+		List<T> result = new ArrayList<>(plugins.length);
+
+		for (long key : keys) {
+			result.add((T) plugins[(int) (key & POSITION_MASK)]);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns the rank of the given plugin as unsigned 33 bit value, {@link PriorityOrdered} plugins ranking before all
+	 * others, like {@link org.springframework.core.annotation.AnnotationAwareOrderComparator} does.
+	 *
+	 * @param plugin must not be {@literal null}.
+	 * @return
+	 */
+	private static long getRank(Object plugin) {
+
+		long order = getOrder(plugin) - (long) Integer.MIN_VALUE;
+
+		return plugin instanceof PriorityOrdered ? order : 1L << 32 | order;
+	}
+
+	private static int getOrder(Object plugin) {
+
+		if (plugin instanceof Ordered ordered) {
+			return ordered.getOrder();
+		}
+
+		Class<?> type = plugin.getClass();
+
+		// Proxies don't carry the annotations of the proxied type
+		if (plugin instanceof DecoratingProxy proxy && OrderUtils.getOrder(type) == null) {
+			type = proxy.getDecoratedClass();
+		}
+
+		return ANNOTATED_ORDERS.get(type);
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Index from delimiter types to the plugins of a {@link PluginSnapshot} potentially supporting them. Every
+ * {@link TypedPlugin} is only considered for delimiters matching one of its declared types, all other plugins are
+ * considered for every delimiter. The candidates for a particular type are calculated once, keep the order of the
+ * snapshot and are cached in a {@link ClassValue}.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ * @see TypedPlugin
+ */
+final class PluginTypeIndex {
+
+	private final ClassValue<Object[]> candidates;
+
+	private PluginTypeIndex(Object[] plugins, Object[] supportedTypes) {
+
+		this.candidates = new ClassValue<>() {
+
+			@Override
+			protected Object[] computeValue(Class<?> type) {
+
+				List<Object> result = new ArrayList<>();
+
+				for (int i = 0; i < plugins.length; i++) {
+					if (supportedTypes[i] == null || isAssignable(type, (Class<?>[]) supportedTypes[i])) {
+						result.add(plugins[i]);
+					}
+				}
+
+				return result.toArray();
+			}
+		};
+	}
+
+	/**
+	 * Creates a new {@link PluginTypeIndex} for the given plugins, if at least one of them is a {@link TypedPlugin}.
+	 *
+	 * @param plugins must not be {@literal null}.
+	 * @return the index or {@literal null} if none of the given plugins is a {@link TypedPlugin}.
+	 */
+	static @Nullable PluginTypeIndex of(Object[] plugins) {
+
+		Object[] supportedTypes = new Object[plugins.length];
+		boolean typed = false;
+
+		for (int i = 0; i < plugins.length; i++) {
+
+			if (plugins[i] instanceof TypedPlugin<?> plugin) {
+
+				Set<Class<?>> types = plugin.getSupportedTypes();
+
+				supportedTypes[i] = types.toArray(new Class<?>[types.size()]);
+				typed = true;
+			}
+		}
+
+		return typed ? new PluginTypeIndex(plugins, supportedTypes) : null;
+	}
+
+	/**
+	 * Returns all plugins potentially supporting the given delimiter in snapshot order.
+	 *
+	 * @param delimiter must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	Object[] getCandidates(Object delimiter) {
+		return candidates.get(TypedPlugin.getDelimiterType(delimiter));
+	}
+
+	private static boolean isAssignable(Class<?> type, Class<?>[] supportedTypes) {
+
+		for (Class<?> supportedType : supportedTypes) {
+			if (supportedType.isAssignableFrom(type)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
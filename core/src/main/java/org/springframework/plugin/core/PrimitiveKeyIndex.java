@@ -0,0 +1,209 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Index from primitive delimiter values to the plugins potentially supporting them, used by {@link IntPluginRegistry}
+ * and {@link LongPluginRegistry}. Plugins declaring keys are only considered for those, all other plugins are merged
+ * into every bucket at their original position, so that first-match semantics stay the same as for a plain scan. Keys
+ * spanning a dense range are looked up in an array indexed by the offset of the key, all others in an open-addressing
+ * hash table with linear probing, so that lookups never box the delimiter.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ */
+final class PrimitiveKeyIndex {
+
+	private static final long MIN_DENSE_RANGE = 64;
+	private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+	private final Object[] fallback;
+
+	// Dense table
+	private final long offset;
+	private final Object @Nullable [][] dense;
+
+	// Hash table
+	private final long[] keys;
+	private final Object @Nullable [][] buckets;
+	private final int shift;
+
+	private PrimitiveKeyIndex(Object[] fallback, long offset, Object @Nullable [][] dense, long[] keys,
+			Object @Nullable [][] buckets, int shift) {
+
+		this.fallback = fallback;
+		this.offset = offset;
+		this.dense = dense;
+		this.keys = keys;
+		this.buckets = buckets;
+		this.shift = shift;
+	}
+
+	/**
+	 * Creates a new {@link PrimitiveKeyIndex} for the given plugins, if at least one of them declares keys.
+	 *
+	 * @param plugins must not be {@literal null}.
+	 * @param keys the function to obtain the keys declared by a plugin, returning {@literal null} for plugins not
+	 *          declaring any, must not be {@literal null}.
+	 * @return the index or {@literal null} if none of the given plugins declares keys.
+	 */
+	static @Nullable PrimitiveKeyIndex of(Object[] plugins, Function<Object, long @Nullable []> keys) {
+
+		long[][] declared = new long[plugins.length][];
+		long[] distinct = new long[0];
+		int count = 0;
+
+		for (int i = 0; i < plugins.length; i++) {
+
+			long[] candidate = keys.apply(plugins[i]);
+
+			if (candidate == null) {
+				continue;
+			}
+
+			declared[i] = candidate;
+
+			if (distinct.length < count + candidate.length) {
+				distinct = Arrays.copyOf(distinct, Math.max(distinct.length * 2, count + candidate.length));
+			}
+
+			System.arraycopy(candidate, 0, distinct, count, candidate.length);
+			count += candidate.length;
+		}
+
+		if (count == 0) {
+			return null;
+		}
+
+		distinct = Arrays.stream(distinct, 0, count).sorted().distinct().toArray();
+
+		List<Object> unkeyed = new ArrayList<>();
+
+		for (int i = 0; i < plugins.length; i++) {
+			if (declared[i] == null) {
+				unkeyed.add(plugins[i]);
+			}
+		}
+
+		Object[] fallback = unkeyed.toArray();
+		long min = distinct[0];
+		long max = distinct[distinct.length - 1];
+
+		// Use an array if the keys are dense enough for it not to be much larger than a hash table. Compare unsigned, as
+		// the range overflows for keys far apart
+		if (Long.compareUnsigned(max - min, Math.max(MIN_DENSE_RANGE, distinct.length * 4L)) < 0) {
+
+			Object[][] dense = new Object[(int) (max - min + 1)][];
+
+			for (long key : distinct) {
+				dense[(int) (key - min)] = getCandidates(plugins, declared, key);
+			}
+
+			return new PrimitiveKeyIndex(fallback, min, dense, new long[0], null, 0);
+		}
+
+		int capacity = Integer.highestOneBit(distinct.length * 2 - 1) << 1;
+		int shift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+		long[] tableKeys = new long[capacity];
+		Object[][] buckets = new Object[capacity][];
+
+		for (long key : distinct) {
+
+			int slot = (int) ((key * GOLDEN_RATIO) >>> shift);
+
+			while (buckets[slot] != null) {
+				slot = (slot + 1) & (capacity - 1);
+			}
+
+			tableKeys[slot] = key;
+			buckets[slot] = getCandidates(plugins, declared, key);
+		}
+
+		return new PrimitiveKeyIndex(fallback, 0, null, tableKeys, buckets, shift);
+	}
+
+	/**
+	 * Returns the plugins to consider for the given delimiter in their original order. The returned array must not be
+	 * modified.
+	 *
+	 * @param delimiter the delimiter to look up.
+	 * @return will never be {@literal null}.
+	 */
+	Object[] getCandidates(long delimiter) {
+
+		var dense = this.dense;
+
+		if (dense != null) {
+
+			long index = delimiter - offset;
+
+			if (index < 0 || index >= dense.length) {
+				return fallback;
+			}
+
+			Object[] candidates = dense[(int) index];
+
+			return candidates == null ? fallback : candidates;
+		}
+
+		var buckets = this.buckets;
+
+		if (buckets == null) {
+			return fallback;
+		}
+
+		int mask = buckets.length - 1;
+
+		for (int slot = (int) ((delimiter * GOLDEN_RATIO) >>> shift); buckets[slot] != null; slot = (slot + 1) & mask) {
+			if (keys[slot] == delimiter) {
+				return buckets[slot];
+			}
+		}
+
+		return fallback;
+	}
+
+	private static Object[] getCandidates(Object[] plugins, long[][] declared, long key) {
+
+		List<Object> result = new ArrayList<>();
+
+		for (int i = 0; i < plugins.length; i++) {
+			if (declared[i] == null || contains(declared[i], key)) {
+				result.add(plugins[i]);
+			}
+		}
+
+		return result.toArray();
+	}
+
+	private static boolean contains(long[] keys, long key) {
+
+		for (long candidate : keys) {
+			if (candidate == key) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
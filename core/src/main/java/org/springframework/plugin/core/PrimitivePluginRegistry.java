@@ -0,0 +1,201 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Base class for {@link PluginRegistry} implementations looking up plugins for primitive delimiters without boxing
+ * them. Orders the plugins like {@link OrderAwarePluginRegistry} and indexes the ones declaring their supported keys in
+ * a {@link PrimitiveKeyIndex}. Delimiters are widened to {@code long} for the lookup, so that subclasses only need to
+ * expose the lookup methods for their primitive type and narrow the delimiter again in
+ * {@link #supports(Plugin, long)}.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ * @see IntPluginRegistry
+ * @see LongPluginRegistry
+ */
+abstract class PrimitivePluginRegistry<T extends Plugin<S>, S extends Number> extends DerivedPluginRegistry<T, S> {
+
+	private final Object[] plugins;
+	private final List<T> list;
+	private final @Nullable PrimitiveKeyIndex index;
+
+	/**
+	 * Creates a new {@link PrimitivePluginRegistry} for the given plugins, ordered by the given {@link Comparator} and
+	 * dropping {@literal null} values.
+	 *
+	 * @param plugins must not be {@literal null}.
+	 * @param comparator must not be {@literal null}.
+	 * @param keys the function to obtain the keys declared by a plugin, returning {@literal null} for plugins not
+	 *          declaring any, must not be {@literal null}.
+	 */
+	PrimitivePluginRegistry(List<? extends T> plugins, Comparator<? super T> comparator,
+			Function<Object, long @Nullable []> keys) {
+
+		Assert.notNull(plugins, "Plugins must not be null!");
+		Assert.notNull(comparator, "Comparator must not be null!");
+
+		// Drops null values just like PluginSnapshot.of(…)
+		List<T> sorted = PluginSorter.sort(plugins, comparator);
+
+		this.plugins = sorted.toArray();
+		this.list = Collections.unmodifiableList(sorted);
+		this.index = PrimitiveKeyIndex.of(this.plugins, keys);
+	}
+
+	/**
+	 * Returns whether the given plugin supports the given delimiter.
+	 *
+	 * @param plugin will never be {@literal null}.
+	 * @param delimiter the delimiter widened to {@code long}.
+	 * @return
+	 */
+	abstract boolean supports(T plugin, long delimiter);
+
+	/**
+	 * Returns the first plugin supporting the given delimiter.
+	 *
+	 * @param delimiter the delimiter to look up.
+	 * @return can be {@literal null}.
+	 */
+	@SuppressWarnings("unchecked")
+	final @Nullable T findPlugin(long delimiter) {
+
+		Object[] candidates = getCandidates(delimiter);
+
+		for (int i = 0; i < candidates.length; i++) {
+
+			T candidate = (T) candidates[i];
+
+			if (supports(candidate, delimiter)) {
+				return candidate;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns the first plugin supporting the given delimiter or throws an {@link IllegalArgumentException} if none
+	 * supports it.
+	 *
+	 * @param delimiter the delimiter to look up.
+	 * @return will never be {@literal null}.
+	 * @throws IllegalArgumentException in case no plugin supports the given delimiter.
+	 */
+	final T getRequiredPlugin(long delimiter) {
+
+		T plugin = findPlugin(delimiter);
+
+		if (plugin == null) {
+			throw new IllegalArgumentException(
+					String.format("No plugin found for delimiter %s! Registered plugins: %s.", delimiter, list));
+		}
+
+		return plugin;
+	}
+
+	/**
+	 * Returns all plugins supporting the given delimiter in the order of the registry.
+	 *
+	 * @param delimiter the delimiter to look up.
+	 * @return will never be {@literal null}.
+	 */
+	@SuppressWarnings("unchecked")
+	final List<T> findPlugins(long delimiter) {
+
+		Object[] candidates = getCandidates(delimiter);
+		List<T> result = new ArrayList<>();
+
+		for (int i = 0; i < candidates.length; i++) {
+
+			T candidate = (T) candidates[i];
+
+			if (supports(candidate, delimiter)) {
+				result.add(candidate);
+			}
+		}
+
+		return result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#findPluginFor(java.lang.Object)
+	 */
+	@Override
+	public @Nullable T findPluginFor(S delimiter) {
+
+		Assert.notNull(delimiter, "Delimiter must not be null!");
+
+		return findPlugin(delimiter.longValue());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#getPluginsFor(java.lang.Object)
+	 */
+	@Override
+	public List<T> getPluginsFor(S delimiter) {
+
+		Assert.notNull(delimiter, "Delimiter must not be null!");
+
+		return findPlugins(delimiter.longValue());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#countPlugins()
+	 */
+	@Override
+	public int countPlugins() {
+		return plugins.length;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#contains(org.springframework.plugin.core.Plugin)
+	 */
+	@Override
+	public boolean contains(T plugin) {
+		return list.contains(plugin);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#getPlugins()
+	 */
+	@Override
+	public List<T> getPlugins() {
+		return list;
+	}
+
+	private Object[] getCandidates(long delimiter) {
+
+		var index = this.index;
+
+		return index == null ? plugins : index.getCandidates(delimiter);
+	}
+}
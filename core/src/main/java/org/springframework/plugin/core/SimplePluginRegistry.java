@@ -1,234 +1,1115 @@
-/*
- * Copyright 2008-2019 the original author or authors.
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *      https://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-package org.springframework.plugin.core;
-
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
-import java.util.function.Supplier;
-import java.util.stream.Collectors;
-
-import org.springframework.util.Assert;
-
-/**
- * Basic implementation of {@link PluginRegistry}. Simply holds all given plugins in a list dropping {@literal null}
- * values silently on adding.
- *
- * @author Oliver Gierke
- */
-class SimplePluginRegistry<T extends Plugin<S>, S> extends PluginRegistrySupport<T, S> {
-
-	/**
-	 * Creates a new {@code SimplePluginRegistry}. Will create an empty registry if {@literal null} is provided.
-	 *
-	 * @param plugins must not be {@literal null}.
-	 */
-	protected SimplePluginRegistry(List<? extends T> plugins) {
-		super(plugins);
-	}
-
-	protected SimplePluginRegistry(Supplier<List<? extends T>> plugins) {
-		super(plugins);
-	}
-
-	/**
-	 * Creates a new {@link SimplePluginRegistry}.
-	 *
-	 * @return
-	 */
-	public static <S, T extends Plugin<S>> SimplePluginRegistry<T, S> empty() {
-		return of(Collections.emptyList());
-	}
-
-	/**
-	 * Creates a new {@link SimplePluginRegistry} with the given {@link Plugin} s.
-	 *
-	 * @return
-	 */
-	@SafeVarargs
-	public static <S, T extends Plugin<S>> SimplePluginRegistry<T, S> of(T... plugins) {
-		return of(Arrays.asList(plugins));
-	}
-
-	/**
-	 * Creates a new {@link SimplePluginRegistry} with the given {@link Plugin} s.
-	 *
-	 * @return
-	 */
-	public static <S, T extends Plugin<S>> SimplePluginRegistry<T, S> of(List<? extends T> plugins) {
-		return new SimplePluginRegistry<>(plugins);
-	}
-
-	/* (non-Javadoc)
-	 * @see org.springframework.plugin.core.PluginRegistrySupport#getPlugins()
-	 */
-	@Override
-	public List<T> getPlugins() {
-		return Collections.unmodifiableList(super.getPlugins());
-	}
-
-	/*
-	 * (non-Javadoc)
-	 * @see org.springframework.plugin.core.PluginRegistry#getPluginFor(java.lang.Object)
-	 */
-	@Override
-	public Optional<T> getPluginFor(S delimiter) {
-
-		Assert.notNull(delimiter, "Delimiter must not be null!");
-
-		return super.getPlugins().stream()//
-				.filter(it -> it.supports(delimiter))//
-				.findFirst();
-	}
-
-	/*
-	 * (non-Javadoc)
-	 * @see org.springframework.plugin.core.PluginRegistry#getRequiredPluginFor(java.lang.Object)
-	 */
-	@Override
-	public T getRequiredPluginFor(S delimiter) {
-
-		Assert.notNull(delimiter, "Delimiter must not be null!");
-
-		return getRequiredPluginFor(delimiter,
-				() -> String.format("No plugin found for delimiter %s! Registered plugins: %s.", delimiter, getPlugins()));
-	}
-
-	/*
-	 * (non-Javadoc)
-	 * @see org.springframework.plugin.core.PluginRegistry#getRequiredPluginFor(java.lang.Object, java.util.function.Supplier)
-	 */
-	@Override
-	public T getRequiredPluginFor(S delimiter, Supplier<String> message) throws IllegalArgumentException {
-
-		Assert.notNull(delimiter, "Delimiter must not be null!");
-		Assert.notNull(message, "Message must not be null!");
-
-		return getPluginFor(delimiter, () -> new IllegalArgumentException(message.get()));
-	}
-
-	/*
-	 * (non-Javadoc)
-	 * @see org.springframework.plugin.core.PluginRegistry#getPluginsFor(java.lang.Object)
-	 */
-	@Override
-	public List<T> getPluginsFor(S delimiter) {
-
-		Assert.notNull(delimiter, "Delimiter must not be null!");
-
-		return super.getPlugins().stream()//
-				.filter(it -> it.supports(delimiter))//
-				.collect(Collectors.toList());
-	}
-
-	/*
-	 * (non-Javadoc)
-	 * @see org.springframework.plugin.core.PluginRegistry#getPluginFor(java.lang.Object, org.springframework.plugin.core.PluginRegistry.Supplier)
-	 */
-	@Override
-	public <E extends Exception> T getPluginFor(S delimiter, Supplier<E> ex) throws E {
-
-		Assert.notNull(delimiter, "Delimiter must not be null!");
-		Assert.notNull(ex, "Exception supplier must not be null!");
-
-		return getPluginFor(delimiter).orElseThrow(ex);
-	}
-
-	/*
-	 * (non-Javadoc)
-	 * @see org.springframework.plugin.core.PluginRegistry#getPluginsFor(java.lang.Object, org.springframework.plugin.core.PluginRegistry.ExceptionProvider)
-	 */
-	@Override
-	public <E extends Exception> List<T> getPluginsFor(S delimiter, Supplier<E> ex) throws E {
-
-		Assert.notNull(delimiter, "Delimiter must not be null!");
-		Assert.notNull(ex, "Exception supplier must not be null!");
-
-		List<T> result = getPluginsFor(delimiter);
-
-		if (result.isEmpty()) {
-			throw ex.get();
-		}
-
-		return result;
-	}
-
-	/*
-	 * (non-Javadoc)
-	 * @see org.springframework.plugin.core.PluginRegistry#getPluginOrDefaultFor(java.lang.Object, org.springframework.plugin.core.Plugin)
-	 */
-	@Override
-	public T getPluginOrDefaultFor(S delimiter, T plugin) {
-		return getPluginOrDefaultFor(delimiter, () -> plugin);
-	}
-
-	/*
-	 * (non-Javadoc)
-	 * @see org.springframework.plugin.core.PluginRegistry#getPluginOrDefaultFor(java.lang.Object, java.util.function.Supplier)
-	 */
-	@Override
-	public T getPluginOrDefaultFor(S delimiter, Supplier<T> defaultSupplier) {
-
-		Assert.notNull(delimiter, "Delimiter must not be null!");
-		Assert.notNull(defaultSupplier, "Default supplier must not be null!");
-
-		return getPluginFor(delimiter).orElseGet(defaultSupplier);
-	}
-
-	/*
-	 * (non-Javadoc)
-	 * @see org.springframework.plugin.core.PluginRegistry#getPluginsFor(java.lang.Object, java.util.List)
-	 */
-	@Override
-	public List<T> getPluginsFor(S delimiter, List<? extends T> plugins) {
-
-		Assert.notNull(delimiter, "Delimiter must not be null!");
-		Assert.notNull(plugins, "Plugins must not be null!");
-
-		List<T> candidates = getPluginsFor(delimiter);
-
-		return candidates.isEmpty() ? new ArrayList<T>(plugins) : candidates;
-	}
-
-	/*
-	 * (non-Javadoc)
-	 * @see org.springframework.plugin.core.PluginRegistry#countPlugins()
-	 */
-	@Override
-	public int countPlugins() {
-		return super.getPlugins().size();
-	}
-
-	/*
-	 * (non-Javadoc)
-	 * @see org.springframework.plugin.core.PluginRegistry#contains(org.springframework.plugin.core.Plugin)
-	 */
-	@Override
-	public boolean contains(T plugin) {
-		return super.getPlugins().contains(plugin);
-	}
-
-	/*
-	 * (non-Javadoc)
-	 * @see org.springframework.plugin.core.PluginRegistry#hasPluginFor(java.lang.Object)
-	 */
-	@Override
-	public boolean hasPluginFor(S delimiter) {
-		return getPluginFor(delimiter).isPresent();
-	}
-}
+/*
+ * Copyright 2008-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Basic implementation of {@link PluginRegistry}. Simply holds all given plugins in a list dropping {@literal null}
+ * values silently on adding.
+ *
+ * @author Oliver Gierke
+ */
+class SimplePluginRegistry<T extends Plugin<S>, S> extends PluginRegistrySupport<T, S> {
+
+	private final Function<S, List<T>> resolver = this::resolvePluginsFor;
+	private final LookupOptions<S> options;
+	private final @Nullable ParallelEvaluator parallelEvaluator;
+	private final @Nullable PluginRegistryObserver observer;
+	private final @Nullable PluginProfiler profiler;
+	private final @Nullable AdaptiveOrdering adaptiveOrdering;
+	private final boolean compiled;
+	private volatile @Nullable PluginLookupCache<T, S> cache;
+	private volatile AdaptiveOrdering.@Nullable HitCounters<T> hitCounters;
+	private final Map<Predicate<? super T>, PluginRegistry<T, S>> views = new ConcurrentReferenceHashMap<>();
+
+	/**
+	 * Creates a new {@code SimplePluginRegistry}. Will create an empty registry if {@literal null} is provided.
+	 *
+	 * @param plugins must not be {@literal null}.
+	 */
+	protected SimplePluginRegistry(List<? extends T> plugins) {
+
+		super(plugins);
+
+		this.options = LookupOptions.defaults();
+		this.parallelEvaluator = null;
+		this.observer = null;
+		this.profiler = null;
+		this.adaptiveOrdering = null;
+		this.compiled = false;
+		this.cache = null;
+	}
+
+	protected SimplePluginRegistry(Supplier<List<? extends T>> plugins) {
+		this(plugins, LookupOptions.defaults());
+	}
+
+	/**
+	 * Creates a new {@link SimplePluginRegistry} for the given plugins using the given {@link LookupOptions}.
+	 *
+	 * @param plugins must not be {@literal null}.
+	 * @param options must not be {@literal null}.
+	 * @since 4.2
+	 */
+	SimplePluginRegistry(Supplier<List<? extends T>> plugins, LookupOptions<S> options) {
+
+		super(plugins);
+
+		Assert.notNull(options, "LookupOptions must not be null!");
+
+		this.options = options;
+		this.parallelEvaluator = options.getParallelEvaluator();
+		this.observer = options.getObserver();
+		this.profiler = options.getProfiler();
+		this.adaptiveOrdering = options.getAdaptiveOrdering();
+		this.compiled = options.isCompiled();
+		this.cache = options.createCache();
+	}
+
+	/**
+	 * Creates a new {@link SimplePluginRegistry}.
+	 *
+	 * @return
+	 */
+	public static <S, T extends Plugin<S>> SimplePluginRegistry<T, S> empty() {
+		return of(Collections.emptyList());
+	}
+
+	/**
+	 * Creates a new {@link SimplePluginRegistry} with the given {@link Plugin} s.
+	 *
+	 * @return
+	 */
+	@SafeVarargs
+	public static <S, T extends Plugin<S>> SimplePluginRegistry<T, S> of(T... plugins) {
+		return of(Arrays.asList(plugins));
+	}
+
+	/**
+	 * Creates a new {@link SimplePluginRegistry} with the given {@link Plugin} s.
+	 *
+	 * @return
+	 */
+	public static <S, T extends Plugin<S>> SimplePluginRegistry<T, S> of(List<? extends T> plugins) {
+		return new SimplePluginRegistry<>(plugins);
+	}
+
+	/**
+	 * Returns a new {@link SimplePluginRegistry} with the same plugins that caches the resolution results per delimiter.
+	 * The cache keeps at most the given number of delimiters. Once that limit is reached, it evicts entries following the
+	 * CLOCK approximation of a least recently used policy, i.e. an entry hit since the last sweep gets a second chance
+	 * before it is replaced. Note that lists returned for cached lookups are immutable.
+	 *
+	 * @param maxSize the maximum number of delimiters to cache, must be greater than zero.
+	 * @return will never be {@literal null}.
+	 * @since 4.2
+	 */
+	public SimplePluginRegistry<T, S> withCache(int maxSize) {
+		return with(options.withCache(maxSize, null));
+	}
+
+	/**
+	 * Returns a new {@link SimplePluginRegistry} with the same plugins that caches the resolution results under the key
+	 * extracted from the delimiter by the given {@link Function}. Use this for delimiters with expensive
+	 * {@code equals(…)}/{@code hashCode()} implementations. The plugins' decisions must only depend on the extracted key.
+	 *
+	 * @param maxSize the maximum number of keys to cache, must be greater than zero.
+	 * @param keyExtractor must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 * @since 4.2
+	 * @see #withCache(int)
+	 */
+	public SimplePluginRegistry<T, S> withCache(int maxSize, Function<? super S, ?> keyExtractor) {
+
+		Assert.notNull(keyExtractor, "Key extractor must not be null!");
+
+		return with(options.withCache(maxSize, keyExtractor));
+	}
+
+	/**
+	 * Returns a new {@link SimplePluginRegistry} with the same plugins that evaluates {@link Plugin#supports(Object)} for
+	 * all candidates of a lookup concurrently on the given {@link ForkJoinPool} once there are at least the given number
+	 * of candidates. {@link #getPluginsFor(Object)} returns the matching plugins in registry order,
+	 * {@link #findPluginFor(Object)} speculatively evaluates all candidates but still returns the earliest matching one.
+	 * Only worthwhile for large registries whose plugins perform considerable work in {@link Plugin#supports(Object)}.
+	 * {@link #findPluginForEach(List)} also splits groups of at least the given number of delimiters across the pool.
+	 *
+	 * @param pool must not be {@literal null}.
+	 * @param threshold the minimum number of candidates to evaluate in parallel, must be greater than zero.
+	 * @return will never be {@literal null}.
+	 * @since 4.2
+	 */
+	public SimplePluginRegistry<T, S> withParallelEvaluation(ForkJoinPool pool, int threshold) {
+		return with(options.withParallelEvaluator(new ParallelEvaluator(pool, threshold)));
+	}
+
+	/**
+	 * Returns a new {@link SimplePluginRegistry} with the same plugins that reports all lookups, including asynchronous
+	 * ones, to the given {@link PluginRegistryObserver} under the given name. Registries without an observer don't take
+	 * any measurements.
+	 *
+	 * @param name the name to report the lookups of the registry under, must not be {@literal null} or empty.
+	 * @param observer must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 * @since 4.2
+	 */
+	public SimplePluginRegistry<T, S> withObserver(String name, PluginRegistryObserver observer) {
+		return with(options.withObserver(name, observer));
+	}
+
+	/**
+	 * Returns a new {@link SimplePluginRegistry} with the same plugins that samples the {@link Plugin#supports(Object)}
+	 * invocations of its lookups with the given {@link PluginProfiler}. Invocations performed by parallel evaluation are
+	 * not sampled.
+	 *
+	 * @param profiler must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 * @since 4.2
+	 */
+	public SimplePluginRegistry<T, S> withProfiler(PluginProfiler profiler) {
+
+		Assert.notNull(profiler, "PluginProfiler must not be null!");
+
+		return with(options.withProfiler(profiler));
+	}
+
+	/**
+	 * Returns a new {@link SimplePluginRegistry} with the same plugins that reorders them by the frequency they are found
+	 * by {@link #findPluginFor(Object)} and the methods building on it, so that the plugins matching most often are
+	 * evaluated first. Only use this for registries whose plugins are mutually exclusive, as both the lookups and
+	 * {@link #getPlugins()} will not reflect the original order anymore. The reordering is performed on the common
+	 * {@link ForkJoinPool} roughly every {@code interval} hits and published atomically, so that lookups never wait for
+	 * it. {@link #refresh() Refreshing} the registry restores the original order.
+	 *
+	 * @param interval the average number of hits between two reorderings, must be greater than zero.
+	 * @return will never be {@literal null}.
+	 * @since 4.2
+	 */
+	public SimplePluginRegistry<T, S> withAdaptiveOrdering(int interval) {
+		return withAdaptiveOrdering(interval, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Returns a new {@link SimplePluginRegistry} with the same plugins that reorders them by the frequency they are found,
+	 * performing the reordering on the given {@link Executor}.
+	 *
+	 * @param interval the average number of hits between two reorderings, must be greater than zero.
+	 * @param executor must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 * @since 4.2
+	 * @see #withAdaptiveOrdering(int)
+	 */
+	public SimplePluginRegistry<T, S> withAdaptiveOrdering(int interval, Executor executor) {
+		return with(options.withAdaptiveOrdering(new AdaptiveOrdering(interval, executor)));
+	}
+
+	/**
+	 * Returns a new {@link SimplePluginRegistry} with the same plugins that evaluates {@link Plugin#supports(Object)}
+	 * through code generated for the plugins to consider for a lookup. Every plugin gets a dedicated call site, so that
+	 * the JIT can inline its {@link Plugin#supports(Object)} implementation even if the registry contains plugins of many
+	 * different types. The code is generated on first use and kept until the registry is {@link #refresh() refreshed} or
+	 * {@link #reload() reloaded}, so this pays off for long-lived registries with frequent lookups only. Lookups sampled
+	 * by a {@link PluginProfiler} as well as parallel and asynchronous evaluations don't use the generated code.
+	 *
+	 * @return will never be {@literal null}.
+	 * @since 4.2
+	 */
+	public SimplePluginRegistry<T, S> withCompiledDispatch() {
+		return with(options.withCompiledDispatch());
+	}
+
+	/**
+	 * Returns a new {@link SimplePluginRegistry} of the same type, with the same plugins and the given
+	 * {@link LookupOptions}.
+	 *
+	 * @param options must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	SimplePluginRegistry<T, S> with(LookupOptions<S> options) {
+		return new SimplePluginRegistry<>(getSource(), options);
+	}
+
+	/**
+	 * Returns a view on the registry only exposing the plugins matching the given {@link Predicate}. The view shares the
+	 * plugins and lookup indexes of the registry, only keeping track of the plugins enabled in a {@link BitSet}, and
+	 * evaluates the predicate again once the plugins of the registry change. Views are cached per predicate instance
+	 * as long as memory permits, so that reusing the same predicate instance, e.g. one per tenant, reuses the view.
+	 *
+	 * @param filter must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 * @since 4.2
+	 */
+	public PluginRegistry<T, S> filter(Predicate<? super T> filter) {
+
+		Assert.notNull(filter, "Filter must not be null!");
+
+		return views.computeIfAbsent(filter, it -> FilteredPluginRegistry.of(this, it));
+	}
+
+	/**
+	 * Returns a view on the registry only exposing the plugins at the positions in {@link #getPlugins()} set in the
+	 * given {@link BitSet}. The view shares the plugins and lookup indexes of the registry and keeps exposing the
+	 * plugins enabled at the time of its creation, even if the registry reorders or refreshes its plugins. Plugins added
+	 * to the registry later on are not exposed.
+	 *
+	 * @param enabled must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 * @since 4.2
+	 * @see #filter(Predicate)
+	 */
+	public PluginRegistry<T, S> view(BitSet enabled) {
+		return FilteredPluginRegistry.of(this, enabled);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistrySupport#refresh()
+	 */
+	@Override
+	public void refresh() {
+
+		super.refresh();
+
+		resetCache();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistrySupport#reload()
+	 */
+	@Override
+	public void reload() {
+
+		super.reload();
+
+		resetCache();
+	}
+
+	/**
+	 * Publishes the given {@link PluginSnapshot} as the current one, dropping all cached resolutions.
+	 *
+	 * @param snapshot must not be {@literal null}.
+	 */
+	void publish(PluginSnapshot<T> snapshot) {
+
+		setSnapshot(snapshot);
+		resetCache();
+	}
+
+	private void resetCache() {
+
+		// Swap rather than clear so that lookups still running against the old snapshot can't populate the new cache
+		if (this.cache != null) {
+			this.cache = options.createCache();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#findPluginFor(java.lang.Object)
+	 */
+	@Nullable
+	@Override
+	public T findPluginFor(S delimiter) {
+
+		Assert.notNull(delimiter, "Delimiter must not be null!");
+
+		var observer = this.observer;
+
+		if (observer == null) {
+			return lookupPluginFor(delimiter);
+		}
+
+		long start = System.nanoTime();
+		T result = lookupPluginFor(delimiter);
+		long duration = System.nanoTime() - start;
+
+		if (result != null) {
+			observer.onMatch(options.getName(), result);
+		}
+
+		observer.onLookup(options.getName(), result == null ? 0 : 1, duration);
+
+		return result;
+	}
+
+	@Nullable
+	@SuppressWarnings("unchecked")
+	private T lookupPluginFor(S delimiter) {
+
+		var cache = this.cache;
+
+		if (cache != null) {
+			return cache.lookup(delimiter, resolver).getFirstPlugin();
+		}
+
+		PluginSnapshot<T> snapshot = getSnapshot();
+		Object[] candidates = snapshot.getCandidates(delimiter);
+		var parallelEvaluator = this.parallelEvaluator;
+
+		if (parallelEvaluator != null && parallelEvaluator.appliesTo(candidates.length)) {
+			return (T) parallelEvaluator.findFirst(candidates, delimiter);
+		}
+
+		var dispatcher = getDispatcher(snapshot, delimiter, candidates);
+
+		if (dispatcher != null) {
+
+			int index = dispatcher.firstMatch(delimiter, 0);
+
+			if (index < 0) {
+				return null;
+			}
+
+			T candidate = (T) candidates[index];
+			var adaptiveOrdering = this.adaptiveOrdering;
+
+			if (adaptiveOrdering != null) {
+				recordHit(adaptiveOrdering, snapshot, candidate);
+			}
+
+			return candidate;
+		}
+
+		for (int i = 0; i < candidates.length; i++) {
+
+			T candidate = (T) candidates[i];
+
+			if (supports(candidate, delimiter)) {
+
+				var adaptiveOrdering = this.adaptiveOrdering;
+
+				if (adaptiveOrdering != null) {
+					recordHit(adaptiveOrdering, snapshot, candidate);
+				}
+
+				return candidate;
+			}
+		}
+
+		return null;
+	}
+
+	private void recordHit(AdaptiveOrdering ordering, PluginSnapshot<T> snapshot, T plugin) {
+
+		var counters = this.hitCounters;
+
+		if (counters == null || !counters.belongsTo(snapshot)) {
+			counters = new AdaptiveOrdering.HitCounters<>(snapshot);
+			this.hitCounters = counters;
+		}
+
+		counters.recordHit(plugin);
+
+		if (ordering.shouldReorder() && counters.startReordering()) {
+
+			var current = counters;
+
+			ordering.execute(current, () -> reorder(current));
+		}
+	}
+
+	private void reorder(AdaptiveOrdering.HitCounters<T> counters) {
+
+		try {
+
+			PluginSnapshot<T> reordered = counters.reorder();
+
+			if (reordered == null) {
+				return;
+			}
+
+			// Compile the dispatchers upfront so that lookups against the new snapshot don't have to
+			if (compiled && profiler == null) {
+				reordered.compileDispatchers(counters.getSnapshot());
+			}
+
+			// Publish the counters first so that lookups against the new snapshot don't start from scratch
+			this.hitCounters = counters.decay(reordered);
+
+			replaceSnapshot(counters.getSnapshot(), reordered);
+
+		} finally {
+			counters.finishReordering();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#getPluginFor(java.lang.Object)
+	 */
+	@Override
+	public Optional<T> getPluginFor(S delimiter) {
+
+		Assert.notNull(delimiter, "Delimiter must not be null!");
+
+		var cache = this.cache;
+
+		return cache != null && observer == null //
+				? cache.lookup(delimiter, resolver).getFirst()
+				: Optional.ofNullable(findPluginFor(delimiter));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#getRequiredPluginFor(java.lang.Object)
+	 */
+	@Override
+	public T getRequiredPluginFor(S delimiter) {
+
+		T plugin = findPluginFor(delimiter);
+
+		if (plugin == null) {
+			throw new IllegalArgumentException(
+					String.format("No plugin found for delimiter %s! Registered plugins: %s.", delimiter, getPlugins()));
+		}
+
+		return plugin;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#getRequiredPluginFor(java.lang.Object, java.util.function.Supplier)
+	 */
+	@Override
+	public T getRequiredPluginFor(S delimiter, Supplier<String> message) throws IllegalArgumentException {
+
+		Assert.notNull(delimiter, "Delimiter must not be null!");
+		Assert.notNull(message, "Message must not be null!");
+
+		T plugin = findPluginFor(delimiter);
+
+		if (plugin == null) {
+			throw new IllegalArgumentException(message.get());
+		}
+
+		return plugin;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#getPluginsFor(java.lang.Object)
+	 */
+	@Override
+	public List<T> getPluginsFor(S delimiter) {
+
+		Assert.notNull(delimiter, "Delimiter must not be null!");
+
+		var observer = this.observer;
+
+		if (observer == null) {
+			return lookupPluginsFor(delimiter);
+		}
+
+		long start = System.nanoTime();
+		List<T> result = lookupPluginsFor(delimiter);
+
+		report(observer, result, System.nanoTime() - start);
+
+		return result;
+	}
+
+	private List<T> lookupPluginsFor(S delimiter) {
+
+		var cache = this.cache;
+
+		return cache != null //
+				? cache.lookup(delimiter, resolver).getPlugins()
+				: resolvePluginsFor(delimiter);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#getPluginsFor(java.lang.Object, int)
+	 */
+	@Override
+	public List<T> getPluginsFor(S delimiter, int limit) {
+
+		Assert.notNull(delimiter, "Delimiter must not be null!");
+		Assert.isTrue(limit >= 0, "Limit must not be negative!");
+
+		var observer = this.observer;
+
+		if (observer == null) {
+			return lookupPluginsFor(delimiter, limit);
+		}
+
+		long start = System.nanoTime();
+		List<T> result = lookupPluginsFor(delimiter, limit);
+
+		report(observer, result, System.nanoTime() - start);
+
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<T> lookupPluginsFor(S delimiter, int limit) {
+
+		var cache = this.cache;
+
+		if (cache != null) {
+
+			List<T> plugins = cache.lookup(delimiter, resolver).getPlugins();
+
+			return plugins.size() <= limit ? plugins : plugins.subList(0, limit);
+		}
+
+		Object[] candidates = getSnapshot().getCandidates(delimiter);
+		List<T> result = new ArrayList<>(Math.min(limit, candidates.length));
+
+		for (int i = 0; i < candidates.length && result.size() < limit; i++) {
+
+			T candidate = (T) candidates[i];
+
+			if (supports(candidate, delimiter)) {
+				result.add(candidate);
+			}
+		}
+
+		return result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#streamPluginsFor(java.lang.Object)
+	 */
+	@Override
+	public Stream<T> streamPluginsFor(S delimiter) {
+
+		Assert.notNull(delimiter, "Delimiter must not be null!");
+
+		var cache = this.cache;
+
+		if (cache != null) {
+			return cache.lookup(delimiter, resolver).getPlugins().stream();
+		}
+
+		return StreamSupport.stream(new MatchingSpliterator(getSnapshot().getCandidates(delimiter), delimiter), false);
+	}
+
+	private void report(PluginRegistryObserver observer, List<T> plugins, long duration) {
+
+		for (int i = 0; i < plugins.size(); i++) {
+			observer.onMatch(options.getName(), plugins.get(i));
+		}
+
+		observer.onLookup(options.getName(), plugins.size(), duration);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#getPluginFor(java.lang.Object, org.springframework.plugin.core.PluginRegistry.Supplier)
+	 */
+	@Override
+	public <E extends Exception> T getPluginFor(S delimiter, Supplier<E> ex) throws E {
+
+		Assert.notNull(delimiter, "Delimiter must not be null!");
+		Assert.notNull(ex, "Exception supplier must not be null!");
+
+		T plugin = findPluginFor(delimiter);
+
+		if (plugin == null) {
+			throw ex.get();
+		}
+
+		return plugin;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#getPluginsFor(java.lang.Object, org.springframework.plugin.core.PluginRegistry.ExceptionProvider)
+	 */
+	@Override
+	public <E extends Exception> List<T> getPluginsFor(S delimiter, Supplier<E> ex) throws E {
+
+		Assert.notNull(delimiter, "Delimiter must not be null!");
+		Assert.notNull(ex, "Exception supplier must not be null!");
+
+		List<T> result = getPluginsFor(delimiter);
+
+		if (result.isEmpty()) {
+			throw ex.get();
+		}
+
+		return result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#getPluginOrDefaultFor(java.lang.Object, org.springframework.plugin.core.Plugin)
+	 */
+	@Override
+	public T getPluginOrDefaultFor(S delimiter, T plugin) {
+
+		T result = findPluginFor(delimiter);
+
+		return result == null ? plugin : result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#getPluginOrDefaultFor(java.lang.Object, java.util.function.Supplier)
+	 */
+	@Override
+	public T getPluginOrDefaultFor(S delimiter, Supplier<T> defaultSupplier) {
+
+		Assert.notNull(delimiter, "Delimiter must not be null!");
+		Assert.notNull(defaultSupplier, "Default supplier must not be null!");
+
+		T result = findPluginFor(delimiter);
+
+		return result == null ? defaultSupplier.get() : result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#getPluginsFor(java.lang.Object, java.util.List)
+	 */
+	@Override
+	public List<T> getPluginsFor(S delimiter, List<? extends T> plugins) {
+
+		Assert.notNull(delimiter, "Delimiter must not be null!");
+		Assert.notNull(plugins, "Plugins must not be null!");
+
+		List<T> candidates = getPluginsFor(delimiter);
+
+		return candidates.isEmpty() ? new ArrayList<T>(plugins) : candidates;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#findPluginForEach(java.util.List)
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<@Nullable T> findPluginForEach(List<? extends S> delimiters) {
+
+		Assert.notNull(delimiters, "Delimiters must not be null!");
+
+		// Deduplicate, remembering the position of every delimiter in the distinct ones
+		Map<S, Integer> indexes = new HashMap<>();
+		List<S> distinct = new ArrayList<>();
+		int[] positions = new int[delimiters.size()];
+
+		for (int i = 0; i < positions.length; i++) {
+
+			S delimiter = delimiters.get(i);
+
+			Assert.notNull(delimiter, "Delimiters must not contain null!");
+
+			Integer index = indexes.putIfAbsent(delimiter, distinct.size());
+
+			if (index == null) {
+				index = distinct.size();
+				distinct.add(delimiter);
+			}
+
+			positions[i] = index;
+		}
+
+		@Nullable
+		Object[] resolved = resolveEach(distinct.toArray());
+		List<@Nullable T> result = new ArrayList<>(positions.length);
+
+		for (int position : positions) {
+			result.add((T) resolved[position]);
+		}
+
+		return result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#getPluginForAsync(java.lang.Object, java.util.concurrent.Executor)
+	 */
+	@Override
+	public CompletableFuture<Optional<T>> getPluginForAsync(S delimiter, Executor executor) {
+
+		Assert.notNull(delimiter, "Delimiter must not be null!");
+		Assert.notNull(executor, "Executor must not be null!");
+
+		if (cache != null) {
+			return super.getPluginForAsync(delimiter, executor);
+		}
+
+		return lookupAsync(delimiter, true, executor).thenApply(it -> it.stream().findFirst());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#getPluginsForAsync(java.lang.Object, java.util.concurrent.Executor)
+	 */
+	@Override
+	public CompletableFuture<List<T>> getPluginsForAsync(S delimiter, Executor executor) {
+
+		Assert.notNull(delimiter, "Delimiter must not be null!");
+		Assert.notNull(executor, "Executor must not be null!");
+
+		if (cache != null) {
+			return super.getPluginsForAsync(delimiter, executor);
+		}
+
+		return lookupAsync(delimiter, false, executor);
+	}
+
+	/**
+	 * Evaluates the candidates for the given delimiter concurrently on the given {@link Executor}, reporting the lookup
+	 * to the {@link PluginRegistryObserver} and {@link PluginProfiler}, if configured, just like the synchronous lookups
+	 * do.
+	 *
+	 * @param delimiter must not be {@literal null}.
+	 * @param firstOnly whether only the first supporting plugin is of interest.
+	 * @param executor must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	@SuppressWarnings("unchecked")
+	private CompletableFuture<List<T>> lookupAsync(S delimiter, boolean firstOnly, Executor executor) {
+
+		Object[] candidates = getSnapshot().getCandidates(delimiter);
+		var observer = this.observer;
+		long start = observer == null ? 0 : System.nanoTime();
+
+		return AsyncPluginLookup.evaluate(candidates, it -> supports((T) it, delimiter), firstOnly, executor, matches -> {
+
+			List<T> result = new ArrayList<>();
+
+			for (int i = 0; i < matches.length; i++) {
+				if (matches[i]) {
+					result.add((T) candidates[i]);
+				}
+			}
+
+			if (observer != null) {
+				report(observer, result, System.nanoTime() - start);
+			}
+
+			return result;
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#countPlugins()
+	 */
+	@Override
+	public int countPlugins() {
+		return getSnapshot().size();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#contains(org.springframework.plugin.core.Plugin)
+	 */
+	@Override
+	public boolean contains(T plugin) {
+
+		List<T> plugins = getPlugins();
+
+		if (plugins.contains(plugin)) {
+			return true;
+		}
+
+		// Proxies standing in for a plugin, e.g. for lazily instantiated plugin beans, decorate it
+		for (T candidate : plugins) {
+			if (candidate instanceof DecoratingProxy proxy && proxy.getDecoratedClass().isInstance(plugin)
+					&& getDecorated(candidate) == plugin) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Returns the instance decorated by the given JDK proxy, if its handler exposes it.
+	 *
+	 * @param proxy must not be {@literal null}.
+	 * @return can be {@literal null}.
+	 */
+	private static @Nullable Object getDecorated(Object proxy) {
+
+		return Proxy.isProxyClass(proxy.getClass()) && Proxy.getInvocationHandler(proxy) instanceof Supplier<?> handler //
+				? handler.get()
+				: null;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.PluginRegistry#hasPluginFor(java.lang.Object)
+	 */
+	@Override
+	public boolean hasPluginFor(S delimiter) {
+		return findPluginFor(delimiter) != null;
+	}
+
+	/**
+	 * Returns the {@link LookupOptions} the registry was created with.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	LookupOptions<S> getOptions() {
+		return options;
+	}
+
+	/**
+	 * Returns the cache used to memoize resolutions, if configured.
+	 *
+	 * @return can be {@literal null}.
+	 */
+	@Nullable
+	PluginLookupCache<T, S> getCache() {
+		return cache;
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<T> resolvePluginsFor(S delimiter) {
+
+		PluginSnapshot<T> snapshot = getSnapshot();
+		Object[] candidates = snapshot.getCandidates(delimiter);
+		List<T> result = new ArrayList<>();
+		var parallelEvaluator = this.parallelEvaluator;
+
+		if (parallelEvaluator != null && parallelEvaluator.appliesTo(candidates.length)) {
+
+			boolean[] matches = parallelEvaluator.evaluate(candidates, delimiter);
+
+			for (int i = 0; i < candidates.length; i++) {
+				if (matches[i]) {
+					result.add((T) candidates[i]);
+				}
+			}
+
+			return result;
+		}
+
+		var dispatcher = getDispatcher(snapshot, delimiter, candidates);
+
+		if (dispatcher != null) {
+
+			for (int i = dispatcher.firstMatch(delimiter, 0); i >= 0; i = dispatcher.firstMatch(delimiter, i + 1)) {
+				result.add((T) candidates[i]);
+			}
+
+			return result;
+		}
+
+		for (int i = 0; i < candidates.length; i++) {
+
+			T candidate = (T) candidates[i];
+
+			if (supports(candidate, delimiter)) {
+				result.add(candidate);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns the {@link PluginDispatcher} to evaluate the given candidates with, if compiled dispatch applies.
+	 *
+	 * @param snapshot must not be {@literal null}.
+	 * @param delimiter must not be {@literal null}.
+	 * @param candidates must not be {@literal null}.
+	 * @return can be {@literal null}.
+	 */
+	@Nullable
+	private PluginDispatcher getDispatcher(PluginSnapshot<T> snapshot, Object delimiter, Object[] candidates) {
+		return compiled && profiler == null && candidates.length > 0 ? snapshot.getDispatcher(delimiter, candidates) : null;
+	}
+
+	/**
+	 * Resolves the first plugin supporting each of the given distinct delimiters. Delimiters sharing the same candidates
+	 * are resolved together, evaluating one candidate after the other against all delimiters not resolved yet, so that
+	 * the candidate stays hot in the CPU caches. Large groups of delimiters are split across the {@link ForkJoinPool}
+	 * configured for parallel evaluation.
+	 *
+	 * @param delimiters must not be {@literal null}.
+	 * @return the plugins resolved, aligned with the given delimiters.
+	 */
+	@SuppressWarnings("unchecked")
+	private @Nullable Object[] resolveEach(Object[] delimiters) {
+
+		@Nullable
+		Object[] result = new Object[delimiters.length];
+
+		// Lookup modes that need to see every single lookup
+		if (cache != null || observer != null || adaptiveOrdering != null) {
+
+			for (int i = 0; i < delimiters.length; i++) {
+				result[i] = findPluginFor((S) delimiters[i]);
+			}
+
+			return result;
+		}
+
+		PluginSnapshot<T> snapshot = getSnapshot();
+
+		// Group delimiters by their candidates, ordering them by group in a single counting sort pass
+		Map<Object[], Integer> groups = new IdentityHashMap<>();
+		List<Object[]> candidates = new ArrayList<>();
+		int[] groupOf = new int[delimiters.length];
+
+		for (int i = 0; i < delimiters.length; i++) {
+
+			Object[] group = snapshot.getCandidates((S) delimiters[i]);
+			Integer index = groups.putIfAbsent(group, candidates.size());
+
+			if (index == null) {
+				index = candidates.size();
+				candidates.add(group);
+			}
+
+			groupOf[i] = index;
+		}
+
+		int[] offsets = new int[candidates.size() + 1];
+
+		for (int group : groupOf) {
+			offsets[group + 1]++;
+		}
+
+		for (int i = 1; i < offsets.length; i++) {
+			offsets[i] += offsets[i - 1];
+		}
+
+		int[] order = new int[delimiters.length];
+		int[] next = Arrays.copyOf(offsets, candidates.size());
+
+		for (int i = 0; i < delimiters.length; i++) {
+			order[next[groupOf[i]]++] = i;
+		}
+
+		var parallelEvaluator = this.parallelEvaluator;
+
+		for (int group = 0; group < candidates.size(); group++) {
+
+			Object[] groupCandidates = candidates.get(group);
+			int from = offsets[group];
+			int to = offsets[group + 1];
+
+			if (parallelEvaluator != null && parallelEvaluator.appliesTo(to - from)) {
+				parallelEvaluator.forEachRange(to - from, (start, end) -> resolveEach(groupCandidates, delimiters, order,
+						from + start, from + end, result));
+			} else {
+				resolveEach(groupCandidates, delimiters, order, from, to, result);
+			}
+		}
+
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void resolveEach(Object[] candidates, Object[] delimiters, int[] order, int from, int to,
+			@Nullable Object[] result) {
+
+		int[] pending = Arrays.copyOfRange(order, from, to);
+		int remaining = pending.length;
+
+		for (int i = 0; i < candidates.length && remaining > 0; i++) {
+
+			T candidate = (T) candidates[i];
+			int unresolved = 0;
+
+			for (int j = 0; j < remaining; j++) {
+
+				int index = pending[j];
+
+				if (supports(candidate, (S) delimiters[index])) {
+					result[index] = candidate;
+				} else {
+					pending[unresolved++] = index;
+				}
+			}
+
+			remaining = unresolved;
+		}
+	}
+
+	private boolean supports(T candidate, S delimiter) {
+
+		var profiler = this.profiler;
+
+		return profiler == null ? candidate.supports(delimiter) : profiler.supports(candidate, delimiter);
+	}
+
+	/**
+	 * {@link Spliterator} evaluating the candidates of a lookup only as far as the elements are consumed.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	private final class MatchingSpliterator extends Spliterators.AbstractSpliterator<T> {
+
+		private final Object[] candidates;
+		private final S delimiter;
+		private int index;
+
+		MatchingSpliterator(Object[] candidates, S delimiter) {
+
+			super(candidates.length, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+
+			this.candidates = candidates;
+			this.delimiter = delimiter;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.Spliterator#tryAdvance(java.util.function.Consumer)
+		 */
+		@Override
+		@SuppressWarnings("unchecked")
+		public boolean tryAdvance(Consumer<? super T> action) {
+
+			while (index < candidates.length) {
+
+				T candidate = (T) candidates[index++];
+
+				if (supports(candidate, delimiter)) {
+					action.accept(candidate);
+					return true;
+				}
+			}
+
+			return false;
+		}
+	}
+}
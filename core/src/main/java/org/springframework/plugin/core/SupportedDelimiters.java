@@ -0,0 +1,63 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the delimiters a {@link Plugin} implementation supports, so that they're known without creating an instance
+ * of the plugin. With {@link org.springframework.plugin.core.config.EnablePluginRegistries#lazyPlugins() lazy plugins}
+ * enabled, plugin beans carrying the annotation are instantiated lazily by the registries created by
+ * {@link org.springframework.plugin.core.support.PluginRegistryFactoryBean}, i.e. only once a lookup matches one of the
+ * declared delimiters. The plugin's {@link Plugin#supports(Object)} is then consulted to further narrow the decision,
+ * but must never support delimiters not declared, as the registry will not consider the plugin for those.
+ * <p>
+ * If the plugin bean has not been instantiated when the registry obtains its plugins, the registry keeps a JDK proxy
+ * standing in for it. The proxy only implements the interfaces of the plugin bean, so that plugins obtained from the
+ * registry cannot be cast to the implementation class. The proxy is only equal to itself, but
+ * {@link PluginRegistry#contains(Plugin)} finds the plugin bean once that has been instantiated. As invocations are dispatched to the plugin bean reflectively, the annotation is not a good fit for plugins invoked on
+ * hot paths.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ * @see KeyedPlugin
+ * @see TypedPlugin
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SupportedDelimiters {
+
+	/**
+	 * The keys of the delimiters supported. {@link String} delimiters are matched as is, enum delimiters by their
+	 * {@link Enum#name() name}.
+	 *
+	 * @return
+	 */
+	String[] keys() default {};
+
+	/**
+	 * The types of the delimiters supported. Delimiters of subtypes are supported, too. If the delimiter is a
+	 * {@link Class}, it's considered the type to match, just like for {@link TypedPlugin}s.
+	 *
+	 * @return
+	 */
+	Class<?>[] types() default {};
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import java.util.Set;
+
+/**
+ * A {@link Plugin} that declares the types of delimiters it supports. Registries use that information to build an index
+ * from the type of a delimiter to the plugins potentially supporting it, so that lookups don't need to consult every
+ * plugin. If the delimiter handed to the registry is a {@link Class}, it's considered the type to look up plugins for.
+ * Otherwise, the type of the delimiter instance is used. The default implementation of {@link #supports(Object)} is
+ * derived from the declared types, too. Implementations can override it to further narrow the decision but must never
+ * support delimiters not matching any of the declared types, as the registry will not consider the plugin for those.
+ *
+ * @param <S> the delimiter type
+ * @author Oliver Drotbohm
+ * @since 4.2
+ */
+public interface TypedPlugin<S> extends Plugin<S> {
+
+	/**
+	 * Returns the delimiter types the plugin supports. Delimiters of subtypes of the returned types are supported, too.
+	 * The returned {@link Set} must not change over the lifetime of the plugin.
+	 *
+	 * @return will never be {@literal null}.
+	 */
+	Set<Class<?>> getSupportedTypes();
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.plugin.core.Plugin#supports(java.lang.Object)
+	 */
+	@Override
+	default boolean supports(S delimiter) {
+
+		Class<?> type = getDelimiterType(delimiter);
+
+		for (Class<?> candidate : getSupportedTypes()) {
+			if (candidate.isAssignableFrom(type)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Returns the type to select {@link TypedPlugin}s for the given delimiter by.
+	 *
+	 * @param delimiter must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	static Class<?> getDelimiterType(Object delimiter) {
+		return delimiter instanceof Class<?> type ? type : delimiter.getClass();
+	}
+}
@@ -26,6 +26,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Import;
 import org.springframework.plugin.core.Plugin;
 import org.springframework.plugin.core.PluginRegistry;
+import org.springframework.plugin.core.PluginRegistryObserver;
 
 /**
  * Enables exposure of {@link PluginRegistry} instances for the configured {@link Plugin} types
@@ -51,4 +52,44 @@ public @interface EnablePluginRegistries {
 	 * @return
 	 */
 	Class<? extends Plugin<?>>[] value();
+
+	/**
+	 * The name of a {@link PluginRegistryObserver} bean to report the lookups of all registries registered to. The
+	 * lookups are reported under the bean name of the individual registries. No observer is used by default.
+	 *
+	 * @return
+	 * @since 4.2
+	 */
+	String observer() default "";
+
+	/**
+	 * Whether to obtain the plugins of the registries right after all singletons have been instantiated, in parallel
+	 * on the bootstrap executor of the bean factory, rather than on the first lookup of each registry. Disabled by
+	 * default.
+	 *
+	 * @return
+	 * @since 4.2
+	 * @see org.springframework.plugin.core.OrderAwarePluginRegistry#whenReady()
+	 */
+	boolean eagerInitialization() default false;
+
+	/**
+	 * The interval in milliseconds to check for plugin beans having been added to or removed from the bean factory in,
+	 * reloading the registries once they have changed. Disabled by default.
+	 *
+	 * @return
+	 * @since 4.2
+	 * @see org.springframework.plugin.core.support.PluginRegistryFactoryBean#setRefreshInterval(java.time.Duration)
+	 */
+	long refreshInterval() default 0;
+
+	/**
+	 * Whether to instantiate plugin beans declaring {@link org.springframework.plugin.core.SupportedDelimiters} only
+	 * once a lookup matches one of the declared delimiters. Disabled by default.
+	 *
+	 * @return
+	 * @since 4.2
+	 * @see org.springframework.plugin.core.support.LazyPluginBeanFactoryPostProcessor
+	 */
+	boolean lazyPlugins() default false;
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core.config;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.SpringProperties;
+import org.springframework.core.io.UrlResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.StringUtils;
+
+/**
+ * The implementations of plugin interfaces recorded at compile time by the {@code spring-plugin-processor} annotation
+ * processor in {@value #INDEX_LOCATION}, along with the values of their order declarations. Indexes found in multiple
+ * class path locations are merged. As the index only knows about the implementations compiled with the processor, it
+ * is neither used to discover plugins nor to decide their order, but only to provide the order values of the indexed
+ * implementations, so that they don't have to be resolved from their annotations at runtime. Setting the
+ * {@value #IGNORE_INDEX} property to {@literal true} disables the index altogether.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ */
+final class PluginIndex {
+
+	static final String INDEX_LOCATION = "META-INF/spring-plugin.index";
+	static final String IGNORE_INDEX = "spring.plugin.index.ignore";
+
+	private static final Logger LOG = LoggerFactory.getLogger(PluginIndex.class);
+	private static final PluginIndex EMPTY = new PluginIndex(Collections.emptyMap());
+	private static final String DYNAMIC = "dynamic";
+	private static final Map<ClassLoader, PluginIndex> CACHE = new ConcurrentReferenceHashMap<>();
+
+	private final Map<String, List<Entry>> implementations;
+
+	private PluginIndex(Map<String, List<Entry>> implementations) {
+		this.implementations = implementations;
+	}
+
+	/**
+	 * Returns the {@link PluginIndex} for the given {@link ClassLoader}.
+	 *
+	 * @param classLoader can be {@literal null} to use the default one.
+	 * @return will never be {@literal null}.
+	 */
+	static PluginIndex load(@Nullable ClassLoader classLoader) {
+
+		if (SpringProperties.getFlag(IGNORE_INDEX)) {
+			return EMPTY;
+		}
+
+		ClassLoader loader = classLoader == null ? PluginIndex.class.getClassLoader() : classLoader;
+
+		return loader == null ? EMPTY : CACHE.computeIfAbsent(loader, PluginIndex::doLoad);
+	}
+
+	/**
+	 * Returns the order values of the implementations of the given plugin interface keyed by their binary names.
+	 * Implementations implementing {@link org.springframework.core.Ordered} are left out, as their order is only known
+	 * at runtime. Returns {@literal null} if the index doesn't contain any implementation of the given plugin interface
+	 * with a statically known order.
+	 *
+	 * @param pluginType must not be {@literal null}.
+	 * @return can be {@literal null}.
+	 */
+	@Nullable
+	Map<String, Integer> getOrders(Class<?> pluginType) {
+
+		List<Entry> entries = implementations.get(pluginType.getName());
+
+		if (entries == null) {
+			return null;
+		}
+
+		Map<String, Integer> result = new HashMap<>(entries.size());
+
+		for (Entry entry : entries) {
+			if (!entry.isDynamic()) {
+				result.putIfAbsent(entry.name(), entry.order());
+			}
+		}
+
+		return result.isEmpty() ? null : result;
+	}
+
+	private static PluginIndex doLoad(ClassLoader classLoader) {
+
+		Map<String, List<Entry>> result = new HashMap<>();
+
+		try {
+
+			Enumeration<URL> urls = classLoader.getResources(INDEX_LOCATION);
+
+			while (urls.hasMoreElements()) {
+
+				Properties properties = PropertiesLoaderUtils.loadProperties(new UrlResource(urls.nextElement()));
+
+				for (String pluginType : properties.stringPropertyNames()) {
+
+					List<Entry> entries = result.computeIfAbsent(pluginType, __ -> new ArrayList<>());
+
+					for (String value : StringUtils.commaDelimitedListToStringArray(properties.getProperty(pluginType))) {
+						entries.add(Entry.parse(value.trim()));
+					}
+				}
+			}
+
+		} catch (IOException o_O) {
+
+			LOG.warn("Could not load plugin index from {}!", INDEX_LOCATION, o_O);
+
+			return EMPTY;
+		}
+
+		return result.isEmpty() ? EMPTY : new PluginIndex(result);
+	}
+
+	/**
+	 * An implementation recorded in the index.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	private record Entry(String name, int order, boolean isDynamic) {
+
+		static Entry parse(String source) {
+
+			int separator = source.indexOf(':');
+
+			if (separator == -1) {
+				return new Entry(source, Integer.MAX_VALUE, false);
+			}
+
+			String name = source.substring(0, separator);
+			String order = source.substring(separator + 1);
+
+			return DYNAMIC.equals(order) //
+					? new Entry(name, Integer.MAX_VALUE, true)
+					: new Entry(name, Integer.parseInt(order), false);
+		}
+	}
+}
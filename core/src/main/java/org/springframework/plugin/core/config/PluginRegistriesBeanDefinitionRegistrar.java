@@ -15,12 +15,16 @@
  */
 package org.springframework.plugin.core.config;
 
+import java.time.Duration;
 import java.util.Map;
 
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanClassLoaderAware;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
 import org.springframework.beans.factory.support.AutowireCandidateQualifier;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.RootBeanDefinition;
@@ -29,6 +33,7 @@ import org.springframework.core.ResolvableType;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.plugin.core.OrderAwarePluginRegistry;
 import org.springframework.plugin.core.Plugin;
+import org.springframework.plugin.core.support.LazyPluginBeanFactoryPostProcessor;
 import org.springframework.plugin.core.support.PluginRegistryFactoryBean;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
@@ -36,13 +41,28 @@ import org.springframework.util.StringUtils;
 /**
  * {@link ImportBeanDefinitionRegistrar} to register {@link PluginRegistryFactoryBean} instances for type listed in
  * {@link EnablePluginRegistries}. Picks up {@link Qualifier} annotations used on the plugin interface and forwards them
- * to the bean definition for the factory.
+ * to the bean definition for the factory. If the index generated by the {@code spring-plugin-processor} annotation
+ * processor lists the implementations of a plugin type, the registry uses the order values recorded for them instead
+ * of resolving their order declarations at runtime. When processed ahead of time, the bean definitions are emitted
+ * as generated code, including the names of the plugin beans resolved at build time.
  *
  * @author Oliver Gierke
  */
-public class PluginRegistriesBeanDefinitionRegistrar implements ImportBeanDefinitionRegistrar {
+public class PluginRegistriesBeanDefinitionRegistrar implements ImportBeanDefinitionRegistrar, BeanClassLoaderAware {
 
 	private static final Logger LOG = LoggerFactory.getLogger(PluginRegistriesBeanDefinitionRegistrar.class);
+	private static final String LAZY_PLUGIN_POST_PROCESSOR_BEAN_NAME = LazyPluginBeanFactoryPostProcessor.class.getName();
+
+	private @Nullable ClassLoader classLoader;
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.BeanClassLoaderAware#setBeanClassLoader(java.lang.ClassLoader)
+	 */
+	@Override
+	public void setBeanClassLoader(ClassLoader classLoader) {
+		this.classLoader = classLoader;
+	}
 
 	/*
 	 * (non-Javadoc)
@@ -66,12 +86,41 @@ public class PluginRegistriesBeanDefinitionRegistrar implements ImportBeanDefini
 			return;
 		}
 
+		Object observer = annotationAttributes.get("observer");
+		Object eagerInitialization = annotationAttributes.get("eagerInitialization");
+		Object refreshInterval = annotationAttributes.get("refreshInterval");
+
+		if (Boolean.TRUE.equals(annotationAttributes.get("lazyPlugins"))) {
+			registerLazyPluginPostProcessor(registry);
+		}
+
+		PluginIndex index = PluginIndex.load(classLoader);
+
 		for (Class<?> type : types) {
 
 			RootBeanDefinition beanDefinition = new RootBeanDefinition(PluginRegistryFactoryBean.class);
 			beanDefinition.setTargetType(getTargetType(type, OrderAwarePluginRegistry.class));
 			beanDefinition.getPropertyValues().addPropertyValue("type", type);
 
+			Map<String, Integer> orders = index.getOrders(type);
+
+			// Use the order values of the implementations recorded at compile time
+			if (orders != null) {
+				beanDefinition.getPropertyValues().addPropertyValue("pluginOrders", orders);
+			}
+
+			if (observer instanceof String name && StringUtils.hasText(name)) {
+				beanDefinition.getPropertyValues().addPropertyValue("observer", new RuntimeBeanReference(name));
+			}
+
+			if (Boolean.TRUE.equals(eagerInitialization)) {
+				beanDefinition.getPropertyValues().addPropertyValue("eagerInitialization", true);
+			}
+
+			if (refreshInterval instanceof Long millis && millis > 0) {
+				beanDefinition.getPropertyValues().addPropertyValue("refreshInterval", Duration.ofMillis(millis));
+			}
+
 			Qualifier annotation = type.getAnnotation(Qualifier.class);
 
 			// If the plugin interface has a Qualifier annotation, propagate that to the bean definition of the registry
@@ -90,6 +139,24 @@ public class PluginRegistriesBeanDefinitionRegistrar implements ImportBeanDefini
 		}
 	}
 
+	/**
+	 * Registers a {@link LazyPluginBeanFactoryPostProcessor} unless already present, so that plugin beans declaring
+	 * {@link org.springframework.plugin.core.SupportedDelimiters} are only instantiated once a lookup matches them.
+	 *
+	 * @param registry must not be {@literal null}.
+	 */
+	private static void registerLazyPluginPostProcessor(BeanDefinitionRegistry registry) {
+
+		if (registry.containsBeanDefinition(LAZY_PLUGIN_POST_PROCESSOR_BEAN_NAME)) {
+			return;
+		}
+
+		RootBeanDefinition beanDefinition = new RootBeanDefinition(LazyPluginBeanFactoryPostProcessor.class);
+		beanDefinition.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+
+		registry.registerBeanDefinition(LAZY_PLUGIN_POST_PROCESSOR_BEAN_NAME, beanDefinition);
+	}
+
 	/**
 	 * Returns the target type of the {@link PluginRegistry} for the given plugin type.
 	 *
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core.support;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.plugin.core.Plugin;
+import org.springframework.plugin.core.SupportedDelimiters;
+import org.springframework.plugin.core.TypedPlugin;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * {@link InvocationHandler} for a proxy standing in for a plugin bean declaring {@link SupportedDelimiters}. Answers
+ * {@link Plugin#supports(Object)} for delimiters not declared without instantiating the plugin bean and only obtains it
+ * from the {@link BeanFactory} once a declared delimiter is looked up or any other method is invoked. The proxy
+ * implements all interfaces of the plugin bean as well as {@link DecoratingProxy}, so that the plugin bean's
+ * {@link org.springframework.core.annotation.Order} declaration is considered when sorting. The proxy is only equal to
+ * itself, the handler exposes the plugin bean once that has been instantiated as {@link Supplier}, so that
+ * {@link org.springframework.plugin.core.PluginRegistry#contains(Plugin)} can find the plugin bean.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ */
+class LazyPlugin implements InvocationHandler, Supplier<@Nullable Object> {
+
+	private final BeanFactory factory;
+	private final String beanName;
+	private final Class<?> beanType;
+	private final Set<String> keys;
+	private final Class<?>[] types;
+
+	private volatile @Nullable Object target;
+
+	private LazyPlugin(BeanFactory factory, String beanName, Class<?> beanType, SupportedDelimiters delimiters) {
+
+		this.factory = factory;
+		this.beanName = beanName;
+		this.beanType = beanType;
+		this.keys = Set.of(delimiters.keys());
+		this.types = delimiters.types();
+	}
+
+	/**
+	 * Returns whether the given {@link SupportedDelimiters} allow a plugin to be instantiated lazily, i.e. whether they
+	 * declare any delimiters at all.
+	 *
+	 * @param delimiters can be {@literal null}.
+	 * @return
+	 */
+	static boolean isApplicable(@Nullable SupportedDelimiters delimiters) {
+		return delimiters != null && (delimiters.keys().length > 0 || delimiters.types().length > 0);
+	}
+
+	/**
+	 * Creates a proxy for the plugin bean with the given name, that only obtains the bean from the given
+	 * {@link BeanFactory} once it's needed.
+	 *
+	 * @param factory must not be {@literal null}.
+	 * @param beanName must not be {@literal null} or empty.
+	 * @param beanType must not be {@literal null}.
+	 * @param delimiters must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	static Object createProxy(BeanFactory factory, String beanName, Class<?> beanType, SupportedDelimiters delimiters) {
+		return Proxy.newProxyInstance(beanType.getClassLoader(), getProxyInterfaces(beanType),
+				new LazyPlugin(factory, beanName, beanType, delimiters));
+	}
+
+	/**
+	 * Returns the interfaces the proxy for a plugin bean of the given type implements.
+	 *
+	 * @param beanType must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	static Class<?>[] getProxyInterfaces(Class<?> beanType) {
+
+		Set<Class<?>> interfaces = new LinkedHashSet<>(ClassUtils.getAllInterfacesForClassAsSet(beanType));
+		interfaces.add(DecoratingProxy.class);
+
+		return interfaces.toArray(Class<?>[]::new);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.reflect.InvocationHandler#invoke(java.lang.Object, java.lang.reflect.Method, java.lang.Object[])
+	 */
+	@Override
+	public @Nullable Object invoke(Object proxy, Method method, @Nullable Object @Nullable [] args) throws Throwable {
+
+		if (ReflectionUtils.isEqualsMethod(method)) {
+
+			return args != null && proxy == args[0];
+		}
+
+		if (ReflectionUtils.isHashCodeMethod(method)) {
+			return System.identityHashCode(proxy);
+		}
+
+		if (ReflectionUtils.isToStringMethod(method)) {
+
+			var target = this.target;
+
+			return target == null ? "Lazy plugin bean '" + beanName + "'" : target.toString();
+		}
+
+		if (method.getDeclaringClass() == DecoratingProxy.class) {
+			return beanType;
+		}
+
+		// Reject delimiters not declared without instantiating the plugin
+		if (isSupportsMethod(method) && args != null && args[0] != null && !isDeclared(args[0])) {
+			return false;
+		}
+
+		try {
+			return method.invoke(getTarget(), args);
+		} catch (InvocationTargetException o_O) {
+			throw o_O.getTargetException();
+		}
+	}
+
+	private static boolean isSupportsMethod(Method method) {
+		return method.getName().equals("supports") && method.getParameterCount() == 1
+				&& method.getReturnType() == boolean.class;
+	}
+
+	private boolean isDeclared(Object delimiter) {
+
+		String key = delimiter instanceof String string ? string
+				: delimiter instanceof Enum<?> constant ? constant.name() : null;
+
+		if (key != null && keys.contains(key)) {
+			return true;
+		}
+
+		Class<?> type = TypedPlugin.getDelimiterType(delimiter);
+
+		for (Class<?> candidate : types) {
+			if (candidate.isAssignableFrom(type)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Returns the plugin bean if it has been instantiated already, be it through the proxy or by the
+	 * {@link BeanFactory} itself.
+	 *
+	 * @return can be {@literal null}.
+	 */
+	@Override
+	public @Nullable Object get() {
+
+		var target = this.target;
+
+		if (target != null) {
+			return target;
+		}
+
+		return factory instanceof ListableBeanFactory listable
+				&& PluginRegistryFactoryBean.isInstantiated(listable, beanName) ? getTarget() : null;
+	}
+
+	private Object getTarget() {
+
+		var target = this.target;
+
+		if (target != null) {
+			return target;
+		}
+
+		synchronized (this) {
+
+			target = this.target;
+
+			if (target == null) {
+				target = factory.getBean(beanName);
+				this.target = target;
+			}
+
+			return target;
+		}
+	}
+}
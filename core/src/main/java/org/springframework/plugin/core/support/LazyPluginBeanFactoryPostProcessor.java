@@ -0,0 +1,73 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core.support;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.plugin.core.Plugin;
+import org.springframework.plugin.core.SupportedDelimiters;
+
+/**
+ * {@link BeanFactoryPostProcessor} marking the definitions of singleton plugin beans declaring
+ * {@link SupportedDelimiters} as lazily initialized, so that they're only instantiated once a lookup on a registry
+ * created by {@link PluginRegistryFactoryBean} matches them. Bean definitions explicitly configuring lazy
+ * initialization either way are left untouched. The annotation is read from the bean definition's metadata for scanned
+ * components and from the bean type for all other bean definitions.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ */
+public class LazyPluginBeanFactoryPostProcessor implements BeanFactoryPostProcessor {
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.config.BeanFactoryPostProcessor#postProcessBeanFactory(org.springframework.beans.factory.config.ConfigurableListableBeanFactory)
+	 */
+	@Override
+	public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+
+		for (String name : beanFactory.getBeanDefinitionNames()) {
+
+			if (!(beanFactory.getBeanDefinition(name) instanceof AbstractBeanDefinition definition)
+					|| definition.isAbstract() || !definition.isSingleton() || definition.getLazyInit() != null) {
+				continue;
+			}
+
+			if (declaresDelimiters(name, definition, beanFactory)) {
+				definition.setLazyInit(true);
+			}
+		}
+	}
+
+	private static boolean declaresDelimiters(String name, AbstractBeanDefinition definition,
+			ConfigurableListableBeanFactory beanFactory) {
+
+		// Scanned components expose the metadata of the bean class without loading it
+		if (definition instanceof AnnotatedBeanDefinition annotated && annotated.getFactoryMethodMetadata() == null
+				&& !annotated.getMetadata().isAnnotated(SupportedDelimiters.class.getName())) {
+			return false;
+		}
+
+		Class<?> type = beanFactory.getType(name, false);
+
+		return type != null && Plugin.class.isAssignableFrom(type)
+				&& LazyPlugin.isApplicable(AnnotatedElementUtils.findMergedAnnotation(type, SupportedDelimiters.class));
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core.support;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Periodically checks a {@link ListableBeanFactory} for changes to the names of the beans of a plugin type and invokes
+ * a callback once they have changed. Bursts of changes are debounced: the callback only runs once the bean names have
+ * been stable for a full check interval. Relies on the bean factory caching bean names by type, so that a check is
+ * cheap as long as nothing changes.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ */
+class PluginBeanWatcher implements Runnable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(PluginBeanWatcher.class);
+
+	private static final SingletonSupplier<ScheduledExecutorService> SCHEDULER = SingletonSupplier.of(() -> {
+
+		var threadFactory = new CustomizableThreadFactory("plugin-registry-watcher-");
+		threadFactory.setDaemon(true);
+
+		return Executors.newSingleThreadScheduledExecutor(threadFactory);
+	});
+
+	private final ListableBeanFactory factory;
+	private final Class<?> type;
+	private final Runnable callback;
+	private final long intervalNanos;
+	private final LongSupplier clock;
+
+	// Only accessed by the scheduler thread
+	private String[] names;
+	private long changedAt;
+	private boolean pending;
+
+	private @Nullable ScheduledFuture<?> future;
+
+	/**
+	 * Creates a new {@link PluginBeanWatcher} for the beans of the given type.
+	 *
+	 * @param factory must not be {@literal null}.
+	 * @param type must not be {@literal null}.
+	 * @param callback must not be {@literal null}.
+	 * @param interval the interval to check for changes in, also used as quiet period to debounce changes, must not be
+	 *          {@literal null} and positive.
+	 */
+	PluginBeanWatcher(ListableBeanFactory factory, Class<?> type, Runnable callback, Duration interval) {
+		this(factory, type, callback, interval, System::nanoTime);
+	}
+
+	PluginBeanWatcher(ListableBeanFactory factory, Class<?> type, Runnable callback, Duration interval,
+			LongSupplier clock) {
+
+		Assert.notNull(factory, "ListableBeanFactory must not be null!");
+		Assert.notNull(type, "Type must not be null!");
+		Assert.notNull(callback, "Callback must not be null!");
+		Assert.notNull(interval, "Interval must not be null!");
+		Assert.isTrue(interval.compareTo(Duration.ZERO) > 0, "Interval must be positive!");
+		Assert.notNull(clock, "Clock must not be null!");
+
+		this.factory = factory;
+		this.type = type;
+		this.callback = callback;
+		this.intervalNanos = interval.toNanos();
+		this.clock = clock;
+		this.names = getBeanNames();
+	}
+
+	/**
+	 * Starts checking for changes on a shared daemon thread.
+	 */
+	synchronized void start() {
+
+		if (future == null) {
+			this.future = SCHEDULER.obtain().scheduleWithFixedDelay(this, intervalNanos, intervalNanos,
+					TimeUnit.NANOSECONDS);
+		}
+	}
+
+	/**
+	 * Stops checking for changes.
+	 */
+	synchronized void stop() {
+
+		var future = this.future;
+
+		if (future != null) {
+			future.cancel(false);
+			this.future = null;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Runnable#run()
+	 */
+	@Override
+	public void run() {
+
+		try {
+			check();
+		} catch (RuntimeException o_O) {
+			// Keep checking, an exception would cancel further executions
+			LOG.warn("Failed to update plugin registry for {}!", type.getName(), o_O);
+		}
+	}
+
+	private void check() {
+
+		String[] current = getBeanNames();
+		long now = clock.getAsLong();
+
+		if (current != names && !Arrays.equals(current, names)) {
+
+			this.names = current;
+			this.changedAt = now;
+			this.pending = true;
+
+			return;
+		}
+
+		if (pending && now - changedAt >= intervalNanos) {
+
+			this.pending = false;
+
+			callback.run();
+		}
+	}
+
+	private String[] getBeanNames() {
+		return PluginRegistryFactoryBean.getPluginBeanNames(factory, type);
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core.support;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.aot.generate.GenerationContext;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.aot.BeanRegistrationAotContribution;
+import org.springframework.beans.factory.aot.BeanRegistrationAotProcessor;
+import org.springframework.beans.factory.aot.BeanRegistrationCode;
+import org.springframework.beans.factory.aot.BeanRegistrationCodeFragments;
+import org.springframework.beans.factory.aot.BeanRegistrationCodeFragmentsDecorator;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.RegisteredBean;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.javapoet.CodeBlock;
+import org.springframework.plugin.core.SupportedDelimiters;
+import org.springframework.util.ClassUtils;
+
+/**
+ * {@link BeanRegistrationAotProcessor} resolving the plugin beans of {@link PluginRegistryFactoryBean} definitions at
+ * build time. The names of the plugin beans are emitted as {@link PluginRegistryFactoryBean#setPluginBeanNames(String[])
+ * property value} of the generated bean definition, so that the registries don't have to discover the plugin beans by
+ * type on first use. The plugins are still ordered at runtime, as the order of {@link org.springframework.core.Ordered}
+ * implementations is only known then. The proxies standing in for plugin beans declaring {@link SupportedDelimiters}
+ * are registered as runtime hints.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ */
+class PluginRegistryBeanRegistrationAotProcessor implements BeanRegistrationAotProcessor {
+
+	static final String PLUGIN_BEAN_NAMES_PROPERTY = "pluginBeanNames";
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.aot.BeanRegistrationAotProcessor#processAheadOfTime(org.springframework.beans.factory.support.RegisteredBean)
+	 */
+	@Override
+	public @Nullable BeanRegistrationAotContribution processAheadOfTime(RegisteredBean registeredBean) {
+
+		var definition = registeredBean.getMergedBeanDefinition();
+
+		// Check the bean class, as the type of the registered bean is the one of the registry produced
+		if (!definition.hasBeanClass() || !PluginRegistryFactoryBean.class.isAssignableFrom(definition.getBeanClass())) {
+			return null;
+		}
+
+		var values = definition.getPropertyValues();
+
+		if (values.contains(PLUGIN_BEAN_NAMES_PROPERTY)) {
+			return null;
+		}
+
+		var beanFactory = registeredBean.getBeanFactory();
+		var type = resolveType(values.getPropertyValue("type"), beanFactory);
+
+		if (type == null) {
+			return null;
+		}
+
+		var exclusions = values.get("exclusions") instanceof Class<?>[] classes //
+				? Arrays.asList(classes) //
+				: List.<Class<?>> of();
+
+		String[] names = getPluginBeanNames(beanFactory, type, exclusions);
+
+		return new PluginRegistryAotContribution(beanFactory, names);
+	}
+
+	/**
+	 * Returns the names of the beans of the given plugin type in the order they're discovered in, except the ones of the
+	 * given excluded types.
+	 *
+	 * @param beanFactory must not be {@literal null}.
+	 * @param type must not be {@literal null}.
+	 * @param exclusions must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	static String[] getPluginBeanNames(ConfigurableListableBeanFactory beanFactory, Class<?> type,
+			List<Class<?>> exclusions) {
+
+		Function<String, @Nullable Class<?>> getType = name -> PluginRegistryFactoryBean
+				.getOwningFactory(beanFactory, name).getType(name, false);
+		Predicate<String> excluded = name -> exclusions.contains(getType.apply(name));
+
+		return Arrays.stream(PluginRegistryFactoryBean.getPluginBeanNames(beanFactory, type))
+				.filter(Predicate.not(excluded))
+				.toArray(String[]::new);
+	}
+
+	@Nullable
+	private static Class<?> resolveType(@Nullable PropertyValue value, ConfigurableListableBeanFactory beanFactory) {
+
+		var type = value == null ? null : value.getValue();
+
+		if (type instanceof Class<?> result) {
+			return result;
+		}
+
+		return type instanceof String name && ClassUtils.isPresent(name, beanFactory.getBeanClassLoader())
+				? ClassUtils.resolveClassName(name, beanFactory.getBeanClassLoader())
+				: null;
+	}
+
+	/**
+	 * {@link BeanRegistrationAotContribution} emitting the resolved plugin bean names and registering the JDK proxies
+	 * used for plugin beans declaring {@link SupportedDelimiters}, as they are instantiated lazily.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	private static class PluginRegistryAotContribution implements BeanRegistrationAotContribution {
+
+		private final ConfigurableListableBeanFactory beanFactory;
+		private final String[] names;
+
+		PluginRegistryAotContribution(ConfigurableListableBeanFactory beanFactory, String[] names) {
+
+			this.beanFactory = beanFactory;
+			this.names = names;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.beans.factory.aot.BeanRegistrationAotContribution#customizeBeanRegistrationCodeFragments(org.springframework.aot.generate.GenerationContext, org.springframework.beans.factory.aot.BeanRegistrationCodeFragments)
+		 */
+		@Override
+		public BeanRegistrationCodeFragments customizeBeanRegistrationCodeFragments(GenerationContext generationContext,
+				BeanRegistrationCodeFragments codeFragments) {
+			return new PluginBeanNamesCodeFragments(codeFragments, names);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.beans.factory.aot.BeanRegistrationAotContribution#applyTo(org.springframework.aot.generate.GenerationContext, org.springframework.beans.factory.aot.BeanRegistrationCode)
+		 */
+		@Override
+		public void applyTo(GenerationContext generationContext, BeanRegistrationCode beanRegistrationCode) {
+
+			RuntimeHints hints = generationContext.getRuntimeHints();
+
+			for (String name : names) {
+
+				ListableBeanFactory owner = PluginRegistryFactoryBean.getOwningFactory(beanFactory, name);
+				Class<?> beanType = owner.getType(name, false);
+
+				if (beanType != null
+						&& LazyPlugin.isApplicable(owner.findAnnotationOnBean(name, SupportedDelimiters.class, false))) {
+					hints.proxies().registerJdkProxy(LazyPlugin.getProxyInterfaces(beanType));
+				}
+			}
+		}
+	}
+
+	/**
+	 * {@link BeanRegistrationCodeFragments} adding the resolved plugin bean names to the generated bean definition.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	private static class PluginBeanNamesCodeFragments extends BeanRegistrationCodeFragmentsDecorator {
+
+		private final String[] names;
+
+		PluginBeanNamesCodeFragments(BeanRegistrationCodeFragments delegate, String[] names) {
+
+			super(delegate);
+
+			this.names = names;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.beans.factory.aot.BeanRegistrationCodeFragmentsDecorator#generateSetBeanDefinitionPropertiesCode(org.springframework.aot.generate.GenerationContext, org.springframework.beans.factory.aot.BeanRegistrationCode, org.springframework.beans.factory.support.RootBeanDefinition, java.util.function.Predicate)
+		 */
+		@Override
+		public CodeBlock generateSetBeanDefinitionPropertiesCode(GenerationContext generationContext,
+				BeanRegistrationCode beanRegistrationCode, RootBeanDefinition beanDefinition,
+				Predicate<String> attributeFilter) {
+
+			var definition = new RootBeanDefinition(beanDefinition);
+			definition.getPropertyValues().add(PLUGIN_BEAN_NAMES_PROPERTY, names);
+
+			return super.generateSetBeanDefinitionPropertiesCode(generationContext, beanRegistrationCode, definition,
+					attributeFilter);
+		}
+	}
+}
@@ -15,26 +15,52 @@
  */
 package org.springframework.plugin.core.support;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.function.Predicate;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.BeanFactoryUtils;
+import org.springframework.beans.factory.BeanNameAware;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.HierarchicalBeanFactory;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.beans.factory.config.SingletonBeanRegistry;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.core.annotation.OrderUtils;
 import org.springframework.plugin.core.OrderAwarePluginRegistry;
 import org.springframework.plugin.core.Plugin;
 import org.springframework.plugin.core.PluginRegistry;
+import org.springframework.plugin.core.PluginRegistryObserver;
+import org.springframework.plugin.core.SupportedDelimiters;
+import org.springframework.util.Assert;
 
 /**
  * {@link FactoryBean} to create {@link PluginRegistry} instances.
@@ -42,11 +68,21 @@ import org.springframework.plugin.core.PluginRegistry;
  * @author Oliver Gierke
  */
 public class PluginRegistryFactoryBean<T extends Plugin<S>, S>
-		implements FactoryBean<PluginRegistry<T, S>>, BeanFactoryAware, ApplicationContextAware, InitializingBean {
+		implements FactoryBean<PluginRegistry<T, S>>, BeanFactoryAware, BeanNameAware, ApplicationContextAware,
+		InitializingBean, SmartInitializingSingleton, DisposableBean {
+
+	private static final Logger LOG = LoggerFactory.getLogger(PluginRegistryFactoryBean.class);
 
 	private Collection<Class<?>> exclusions = Collections.emptySet();
 	private @Nullable Class<T> type;
 	private @Nullable ListableBeanFactory factory;
+	private @Nullable PluginRegistryObserver observer;
+	private @Nullable String beanName;
+	private Duration refreshInterval = Duration.ZERO;
+	private String @Nullable [] pluginBeanNames;
+	private @Nullable Map<String, Integer> pluginOrders;
+	private boolean eagerInitialization;
+	private final List<PluginBeanWatcher> watchers = new ArrayList<>();
 
 	/**
 	 * Configures the type of beans to be looked up.
@@ -66,6 +102,87 @@ public class PluginRegistryFactoryBean<T extends Plugin<S>, S>
 		this.exclusions = Arrays.asList(exclusions);
 	}
 
+	/**
+	 * Configures the {@link PluginRegistryObserver} to report the lookups of the registry to. The lookups are reported
+	 * under the name of the registry bean.
+	 *
+	 * @param observer can be {@literal null} to not observe the registry.
+	 * @since 4.2
+	 */
+	public void setObserver(@Nullable PluginRegistryObserver observer) {
+		this.observer = observer;
+	}
+
+	/**
+	 * Configures the interval in which the registries created are checked for plugin beans having been added to or
+	 * removed from the bean factory. Once a change was detected, the registry is reloaded as soon as the plugin beans
+	 * haven't changed for another interval, so that a burst of registrations only causes a single reload. Lookups keep
+	 * using the previous plugins until the reload has completed. Checking runs on a shared background thread, thus it is
+	 * disabled by default, i.e. for {@link Duration#ZERO}.
+	 *
+	 * @param refreshInterval must not be {@literal null} or negative.
+	 * @since 4.2
+	 */
+	public void setRefreshInterval(Duration refreshInterval) {
+
+		Assert.notNull(refreshInterval, "Refresh interval must not be null!");
+		Assert.isTrue(!refreshInterval.isNegative(), "Refresh interval must not be negative!");
+
+		this.refreshInterval = refreshInterval;
+	}
+
+	/**
+	 * Configures the names of the plugin beans to be used by the registries created, so that they don't have to be
+	 * discovered by type on first lookup. Usually set by ahead-of-time processing, which resolves the plugin beans at
+	 * build time. Once the plugin beans change at runtime, the registries discover them by type, keeping the ones still
+	 * present with the given names first.
+	 *
+	 * @param pluginBeanNames can be {@literal null} to discover the plugin beans by type.
+	 * @since 4.2
+	 * @see #setRefreshInterval(Duration)
+	 */
+	public void setPluginBeanNames(String @Nullable [] pluginBeanNames) {
+		this.pluginBeanNames = pluginBeanNames;
+	}
+
+	/**
+	 * Configures the order values of the implementation types of the plugin beans keyed by the names of the types, so
+	 * that their order doesn't have to be resolved from their annotations on first lookup. Usually set from the index
+	 * generated by the {@code spring-plugin-processor} annotation processor. The plugins are still ordered exactly like
+	 * {@link AnnotationAwareOrderComparator} does, only plugins of types not contained in the given {@link Map}, e.g.
+	 * implementations compiled without the processor, have their order resolved at runtime.
+	 *
+	 * @param pluginOrders can be {@literal null} to resolve the order of all plugins at runtime.
+	 * @since 4.2
+	 */
+	public void setPluginOrders(@Nullable Map<String, Integer> pluginOrders) {
+		this.pluginOrders = pluginOrders;
+	}
+
+	/**
+	 * Configures whether to obtain the plugins of the registry created right after all singletons have been
+	 * instantiated rather than on first lookup. The plugins are obtained on the bootstrap executor of the bean factory
+	 * or the {@link ForkJoinPool#commonPool() common pool} if none is configured, so that multiple registries are
+	 * initialized in parallel. Use {@link OrderAwarePluginRegistry#whenReady()} to wait for the registry to be ready.
+	 * Defaults to {@literal false}.
+	 *
+	 * @param eagerInitialization whether to initialize the registry eagerly.
+	 * @since 4.2
+	 * @see ConfigurableBeanFactory#setBootstrapExecutor(Executor)
+	 */
+	public void setEagerInitialization(boolean eagerInitialization) {
+		this.eagerInitialization = eagerInitialization;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.BeanNameAware#setBeanName(java.lang.String)
+	 */
+	@Override
+	public void setBeanName(String name) {
+		this.beanName = name;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.beans.factory.BeanFactoryAware#setBeanFactory(org.springframework.beans.factory.BeanFactory)
@@ -109,11 +226,154 @@ public class PluginRegistryFactoryBean<T extends Plugin<S>, S>
 			throw new IllegalStateException("No ListableBeanFactory configured!");
 		}
 
-		Supplier<List<? extends T>> plugins = () -> factory.getBeanProvider(type, false)
-				.stream(Predicate.not(exclusions::contains))
-				.toList();
+		var pluginBeanNames = this.pluginBeanNames;
+		var pluginOrders = this.pluginOrders;
+		var changed = new AtomicBoolean();
+
+		Supplier<List<? extends T>> plugins = () -> getPlugins(factory, type,
+				getBeanNames(factory, type, pluginBeanNames, changed.get()));
+
+		OrderAwarePluginRegistry<T, S> registry = pluginOrders == null //
+				? OrderAwarePluginRegistry.of(plugins)
+				: OrderAwarePluginRegistry.of(plugins, new IndexedOrderComparator(pluginOrders));
+		var observer = this.observer;
+
+		if (observer != null) {
+
+			var beanName = this.beanName;
+
+			registry = registry.withObserver(beanName == null ? type.getName() : beanName, observer);
+		}
+
+		if (!refreshInterval.isZero()) {
+
+			var target = registry;
+			var watcher = new PluginBeanWatcher(factory, type, () -> {
+				changed.set(true);
+				target.reload();
+			}, refreshInterval);
+			watcher.start();
+
+			synchronized (watchers) {
+				watchers.add(watcher);
+			}
+		}
+
+		return registry;
+	}
+
+	/**
+	 * Returns the plugins for the beans with the given names, skipping excluded ones. Plugin beans declaring
+	 * {@link SupportedDelimiters} that have not been instantiated yet are represented by a proxy creating them on first
+	 * use.
+	 *
+	 * @param factory must not be {@literal null}.
+	 * @param type must not be {@literal null}.
+	 * @param names must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	private List<T> getPlugins(ListableBeanFactory factory, Class<T> type, String[] names) {
+
+		List<T> result = new ArrayList<>(names.length);
+
+		for (String name : names) {
+
+			ListableBeanFactory owner = getOwningFactory(factory, name);
+			Class<?> beanType = owner.getType(name, false);
+
+			if (beanType != null && exclusions.contains(beanType)) {
+				continue;
+			}
+
+			Object plugin = beanType == null || isInstantiated(owner, name) //
+					? owner.getBean(name)
+					: getLazyPlugin(owner, name, beanType);
+
+			if (type.isInstance(plugin)) {
+				result.add(type.cast(plugin));
+			}
+		}
+
+		return result;
+	}
+
+	private static String[] getBeanNames(ListableBeanFactory factory, Class<?> type, String @Nullable [] names,
+			boolean changed) {
+
+		if (names == null) {
+			return getPluginBeanNames(factory, type);
+		}
+
+		if (!changed) {
+			return names;
+		}
+
+		String[] current = getPluginBeanNames(factory, type);
+
+		// Keep the configured names still present in their order, followed by the ones added since
+		Set<String> result = new LinkedHashSet<>(Arrays.asList(names));
+		result.retainAll(Set.of(current));
+		result.addAll(Arrays.asList(current));
+
+		return result.toArray(String[]::new);
+	}
+
+	private static Object getLazyPlugin(ListableBeanFactory factory, String name, Class<?> beanType) {
 
-		return OrderAwarePluginRegistry.of(plugins);
+		SupportedDelimiters delimiters = factory.findAnnotationOnBean(name, SupportedDelimiters.class, false);
+
+		return delimiters != null && LazyPlugin.isApplicable(delimiters) //
+				? LazyPlugin.createProxy(factory, name, beanType, delimiters)
+				: factory.getBean(name);
+	}
+
+	/**
+	 * Returns whether the singleton bean with the given name has already been instantiated by the given
+	 * {@link ListableBeanFactory}.
+	 *
+	 * @param factory must not be {@literal null}.
+	 * @param name must not be {@literal null}.
+	 * @return
+	 */
+	static boolean isInstantiated(ListableBeanFactory factory, String name) {
+
+		Object candidate = factory instanceof ConfigurableApplicationContext context //
+				? context.getBeanFactory()
+				: factory;
+
+		return candidate instanceof SingletonBeanRegistry registry && registry.containsSingleton(name);
+	}
+
+	/**
+	 * Returns the names of the beans of the given plugin type in the given {@link ListableBeanFactory} and its ancestors,
+	 * so that registries in a child context also see the plugins defined in its parent.
+	 *
+	 * @param factory must not be {@literal null}.
+	 * @param type must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	static String[] getPluginBeanNames(ListableBeanFactory factory, Class<?> type) {
+		return BeanFactoryUtils.beanNamesForTypeIncludingAncestors(factory, type, true, false);
+	}
+
+	/**
+	 * Returns the {@link ListableBeanFactory} of the hierarchy of the given one that defines the bean with the given
+	 * name, so that the bean is inspected and obtained from the factory it actually belongs to.
+	 *
+	 * @param factory must not be {@literal null}.
+	 * @param name must not be {@literal null}.
+	 * @return will never be {@literal null}.
+	 */
+	static ListableBeanFactory getOwningFactory(ListableBeanFactory factory, String name) {
+
+		ListableBeanFactory current = factory;
+
+		while (current instanceof HierarchicalBeanFactory hierarchical && !hierarchical.containsLocalBean(name)
+				&& hierarchical.getParentBeanFactory() instanceof ListableBeanFactory parent) {
+			current = parent;
+		}
+
+		return current;
 	}
 
 	/*
@@ -133,6 +393,113 @@ public class PluginRegistryFactoryBean<T extends Plugin<S>, S>
 		return true;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.SmartInitializingSingleton#afterSingletonsInstantiated()
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+
+		var factory = this.factory;
+		var beanName = this.beanName;
+
+		if (!eagerInitialization || factory == null || beanName == null) {
+			return;
+		}
+
+		// Look up the registry through the factory to initialize the instance it caches
+		if (!(factory.getBean(beanName) instanceof OrderAwarePluginRegistry<?, ?> registry)) {
+			return;
+		}
+
+		registry.initialize(getBootstrapExecutor(factory)).whenComplete((__, o_O) -> {
+			if (o_O != null) {
+				LOG.warn("Failed to initialize plugin registry {}!", beanName, o_O);
+			}
+		});
+	}
+
+	private static Executor getBootstrapExecutor(ListableBeanFactory factory) {
+
+		Object candidate = factory instanceof ConfigurableApplicationContext context //
+				? context.getBeanFactory()
+				: factory;
+		Executor executor = candidate instanceof ConfigurableBeanFactory configurable //
+				? configurable.getBootstrapExecutor()
+				: null;
+
+		return executor == null ? ForkJoinPool.commonPool() : executor;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.DisposableBean#destroy()
+	 */
+	@Override
+	public void destroy() {
+
+		synchronized (watchers) {
+			watchers.forEach(PluginBeanWatcher::stop);
+			watchers.clear();
+		}
+	}
+
+	/**
+	 * {@link Comparator} ordering plugins exactly like {@link AnnotationAwareOrderComparator}, but using the order values
+	 * recorded in the plugin index for the indexed types. The order of a plugin type is only resolved once.
+	 */
+	private static class IndexedOrderComparator implements Comparator<Object> {
+
+		private final ClassValue<@Nullable Integer> orders;
+
+		IndexedOrderComparator(Map<String, Integer> indexed) {
+
+			this.orders = new ClassValue<>() {
+
+				@Override
+				protected @Nullable Integer computeValue(Class<?> type) {
+
+					Integer order = indexed.get(type.getName());
+
+					return order != null ? order : OrderUtils.getOrder(type);
+				}
+			};
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.Comparator#compare(java.lang.Object, java.lang.Object)
+		 */
+		@Override
+		public int compare(Object left, Object right) {
+
+			boolean leftPriority = left instanceof PriorityOrdered;
+			boolean rightPriority = right instanceof PriorityOrdered;
+
+			if (leftPriority != rightPriority) {
+				return leftPriority ? -1 : 1;
+			}
+
+			return Integer.compare(getOrder(left), getOrder(right));
+		}
+
+		private int getOrder(Object plugin) {
+
+			if (plugin instanceof Ordered ordered) {
+				return ordered.getOrder();
+			}
+
+			Integer order = orders.get(plugin.getClass());
+
+			// Proxies don't carry the annotations of the proxied type
+			if (order == null && plugin instanceof DecoratingProxy proxy) {
+				order = orders.get(proxy.getDecoratedClass());
+			}
+
+			return order == null ? Ordered.LOWEST_PRECEDENCE : order;
+		}
+	}
+
 	/**
 	 * @see InitializingBean#afterPropertiesSet()
 	 * @deprecated since 4.0, not needed anymore.
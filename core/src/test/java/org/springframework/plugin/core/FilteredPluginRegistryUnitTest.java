@@ -0,0 +1,152 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link FilteredPluginRegistry}.
+ *
+ * @author Oliver Drotbohm
+ */
+class FilteredPluginRegistryUnitTest {
+
+	NamedPlugin first = new NamedPlugin("first", "FOO");
+	NamedPlugin second = new NamedPlugin("second", "FOO", "BAR");
+	NamedPlugin third = new NamedPlugin("third", "BAR");
+
+	@Test
+	void exposesPluginsMatchingFilterOnly() {
+
+		var registry = SimplePluginRegistry.<String, NamedPlugin> of(first, second, third);
+		PluginRegistry<NamedPlugin, String> view = registry.filter(it -> !it.name.equals("second"));
+
+		assertThat(view.getPlugins()).containsExactly(first, third);
+		assertThat(view.countPlugins()).isEqualTo(2);
+		assertThat(view.contains(second)).isFalse();
+		assertThat(view.getPluginFor("BAR")).hasValue(third);
+		assertThat(view.getPluginsFor("FOO")).containsExactly(first);
+		assertThat(view.hasPluginFor("BAZ")).isFalse();
+
+		assertThat(registry.getPluginFor("BAR")).hasValue(second);
+	}
+
+	@Test
+	void exposesPluginsEnabledInBitSet() {
+
+		var registry = SimplePluginRegistry.<String, NamedPlugin> of(first, second, third);
+
+		var enabled = new BitSet();
+		enabled.set(1);
+		enabled.set(2);
+
+		PluginRegistry<NamedPlugin, String> view = registry.view(enabled);
+
+		assertThat(view.getPlugins()).containsExactly(second, third);
+		assertThat(view.getPluginsFor("FOO")).containsExactly(second);
+		assertThat(view.getPluginsFor("BAR", 1)).containsExactly(second);
+	}
+
+	@Test
+	void masksPluginsOfRegistryWithoutIndex() {
+
+		Plugin<String> foo = "FOO"::equals;
+		Plugin<String> anotherFoo = "FOO"::equals;
+
+		var registry = SimplePluginRegistry.<String, Plugin<String>> of(foo, anotherFoo);
+		PluginRegistry<Plugin<String>, String> view = registry.filter(it -> it != foo);
+
+		assertThat(view.getPluginFor("FOO")).hasValue(anotherFoo);
+		assertThat(view.getPluginsFor("FOO")).containsExactly(anotherFoo);
+	}
+
+	@Test
+	void cachesViewsPerFilterInstance() {
+
+		var registry = SimplePluginRegistry.<String, NamedPlugin> of(first, second, third);
+		Predicate<NamedPlugin> filter = it -> true;
+
+		assertThat(registry.filter(filter)).isSameAs(registry.filter(filter));
+	}
+
+	@Test
+	void reevaluatesFilterOnceRegistryChanges() {
+
+		var registry = MutablePluginRegistry.<String, NamedPlugin> of(List.of(first));
+		PluginRegistry<NamedPlugin, String> view = registry.filter(it -> it.name.startsWith("s"));
+
+		assertThat(view.getPlugins()).isEmpty();
+
+		registry.register(second);
+
+		assertThat(view.getPlugins()).containsExactly(second);
+		assertThat(view.getPluginFor("BAR")).hasValue(second);
+	}
+
+	@Test
+	void keepsExposingPluginsEnabledInBitSetOnceRegistryChanges() {
+
+		var registry = MutablePluginRegistry.<String, NamedPlugin> of(List.of(first, second, third));
+
+		var enabled = new BitSet();
+		enabled.set(1);
+
+		PluginRegistry<NamedPlugin, String> view = registry.view(enabled);
+
+		registry.unregister(first);
+
+		assertThat(view.getPlugins()).containsExactly(second);
+		assertThat(view.getPluginsFor("BAR")).containsExactly(second);
+		assertThat(view.contains(third)).isFalse();
+
+		registry.register(new NamedPlugin("fourth", "BAR"));
+
+		assertThat(view.getPluginsFor("BAR")).containsExactly(second);
+
+		registry.unregister(second);
+
+		assertThat(view.getPlugins()).isEmpty();
+		assertThat(view.hasPluginFor("BAR")).isFalse();
+	}
+
+	static class NamedPlugin implements KeyedPlugin<String> {
+
+		private final String name;
+		private final Set<String> keys;
+
+		NamedPlugin(String name, String... keys) {
+			this.name = name;
+			this.keys = Set.of(keys);
+		}
+
+		@Override
+		public Set<? extends String> getSupportedKeys() {
+			return keys;
+		}
+
+		@Override
+		public boolean supports(String delimiter) {
+			return keys.contains(delimiter);
+		}
+	}
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.Ordered;
+
+/**
+ * Unit tests for {@link HierarchicalPluginRegistry}.
+ *
+ * @author Oliver Drotbohm
+ */
+class HierarchicalPluginRegistryUnitTest {
+
+	OrderedPlugin first = new OrderedPlugin(1, "FOO");
+	OrderedPlugin third = new OrderedPlugin(3, "FOO");
+	OrderedPlugin fifth = new OrderedPlugin(5, "FOO", "BAR");
+
+	OrderAwarePluginRegistry<OrderedPlugin, String> parent = OrderAwarePluginRegistry.of(first, third, fifth);
+
+	@Test
+	void mergesOwnPluginsWithTheOnesOfTheParentByOrder() {
+
+		var second = new OrderedPlugin(2, "FOO");
+		var anotherThird = new OrderedPlugin(3, "FOO");
+		var sixth = new OrderedPlugin(6, "BAR");
+
+		var child = parent.createChild(List.of(sixth, anotherThird, second));
+
+		assertThat(child.getPlugins()).containsExactly(first, second, anotherThird, third, fifth, sixth);
+		assertThat(child.getPluginsFor("FOO")).containsExactly(first, second, anotherThird, third, fifth);
+		assertThat(child.getPluginsFor("FOO", 3)).containsExactly(first, second, anotherThird);
+		assertThat(child.getPluginsFor("BAR")).containsExactly(fifth, sixth);
+		assertThat(child.getPluginFor("BAR")).hasValue(fifth);
+		assertThat(child.countPlugins()).isEqualTo(6);
+		assertThat(child.contains(first)).isTrue();
+		assertThat(child.getOwnPlugins()).containsExactly(second, anotherThird, sixth);
+	}
+
+	@Test
+	void prefersOwnPluginOverPluginOfParentOfEqualOrder() {
+
+		var own = new OrderedPlugin(1, "FOO");
+
+		assertThat(parent.createChild(List.of(own)).getPluginFor("FOO")).hasValue(own);
+	}
+
+	@Test
+	void fallsBackToParentIfNoOwnPluginMatches() {
+
+		var child = parent.createChild(List.of(new OrderedPlugin(0, "BAZ")));
+
+		assertThat(child.getPluginFor("BAR")).hasValue(fifth);
+		assertThat(child.hasPluginFor("BAR")).isTrue();
+		assertThat(child.hasPluginFor("QUX")).isFalse();
+		assertThat(child.getPluginsFor("QUX")).isEmpty();
+	}
+
+	@Test
+	void sharesCachedLookupsOfParentBetweenChildren() {
+
+		var invocations = new AtomicInteger();
+		var counting = new OrderedPlugin(1, "FOO") {
+
+			@Override
+			public boolean supports(String delimiter) {
+				invocations.incrementAndGet();
+				return super.supports(delimiter);
+			}
+		};
+
+		OrderAwarePluginRegistry<OrderedPlugin, String> parent = OrderAwarePluginRegistry
+				.<String, OrderedPlugin> of(List.of(counting)).withCache(10);
+
+		parent.createChild(List.of(new OrderedPlugin(2, "FOO"))).getPluginsFor("FOO");
+		parent.createChild(List.of(new OrderedPlugin(3, "FOO"))).getPluginsFor("FOO");
+
+		assertThat(invocations).hasValue(1);
+	}
+
+	@Test
+	void layersGrandChildOverChild() {
+
+		var second = new OrderedPlugin(2, "FOO");
+		var fourth = new OrderedPlugin(4, "FOO");
+
+		HierarchicalPluginRegistry<OrderedPlugin, String> grandChild = parent.createChild(List.of(fourth))
+				.createChild(List.of(second));
+
+		assertThat(grandChild.getPluginsFor("FOO")).containsExactly(first, second, third, fourth, fifth);
+		assertThat(grandChild.getParent().countPlugins()).isEqualTo(4);
+	}
+
+	@Test
+	void skipsParentIfOwnPluginPrecedesAllPluginsOfParent() {
+
+		var invocations = new AtomicInteger();
+		var counting = new OrderedPlugin(1, "FOO") {
+
+			@Override
+			public boolean supports(String delimiter) {
+				invocations.incrementAndGet();
+				return super.supports(delimiter);
+			}
+		};
+
+		var own = new OrderedPlugin(0, "FOO");
+		var child = OrderAwarePluginRegistry.<String, OrderedPlugin> of(List.of(counting)).createChild(List.of(own));
+
+		assertThat(child.getPluginFor("FOO")).hasValue(own);
+		assertThat(invocations).hasValue(0);
+	}
+
+	@Test
+	void mergesWithRefreshedPluginsOfParent() {
+
+		var plugins = new ArrayList<>(List.of(first, fifth));
+		var second = new OrderedPlugin(2, "FOO");
+		var fourth = new OrderedPlugin(4, "FOO");
+
+		OrderAwarePluginRegistry<OrderedPlugin, String> parent = OrderAwarePluginRegistry
+				.<String, OrderedPlugin> of(() -> List.copyOf(plugins));
+		HierarchicalPluginRegistry<OrderedPlugin, String> child = parent.createChild(List.of(fourth));
+		HierarchicalPluginRegistry<OrderedPlugin, String> grandChild = child.createChild(List.of(second));
+
+		assertThat(grandChild.getPluginsFor("FOO")).containsExactly(first, second, fourth, fifth);
+
+		plugins.remove(first);
+		plugins.add(third);
+		parent.refresh();
+
+		assertThat(child.getPluginsFor("FOO")).containsExactly(third, fourth, fifth);
+		assertThat(grandChild.getPluginsFor("FOO")).containsExactly(second, third, fourth, fifth);
+		assertThat(grandChild.getPluginFor("FOO")).hasValue(second);
+	}
+
+	@Test
+	void doesNotCompareOnLookupsOnceLaidOut() {
+
+		var comparisons = new AtomicInteger();
+		Comparator<OrderedPlugin> comparator = (left, right) -> {
+			comparisons.incrementAndGet();
+			return Integer.compare(left.getOrder(), right.getOrder());
+		};
+
+		var child = OrderAwarePluginRegistry.<String, OrderedPlugin> of(List.of(first, third, fifth), comparator)
+				.createChild(List.of(new OrderedPlugin(2, "FOO"), new OrderedPlugin(4, "FOO")));
+
+		child.getPluginsFor("FOO");
+		comparisons.set(0);
+
+		assertThat(child.getPluginsFor("FOO")).extracting(OrderedPlugin::getOrder).containsExactly(1, 2, 3, 4, 5);
+		assertThat(child.getPluginFor("FOO")).hasValue(first);
+		assertThat(comparisons).hasValue(0);
+	}
+
+	@Test
+	void rejectsParentReorderingPluginsAdaptively() {
+
+		var adaptive = OrderAwarePluginRegistry.of(first, third).withAdaptiveOrdering(10);
+
+		assertThatIllegalArgumentException().isThrownBy(() -> adaptive.createChild(List.of(fifth)));
+	}
+
+	static class OrderedPlugin implements Plugin<String>, Ordered {
+
+		private final int order;
+		private final List<String> delimiters;
+
+		OrderedPlugin(int order, String... delimiters) {
+			this.order = order;
+			this.delimiters = List.of(delimiters);
+		}
+
+		@Override
+		public int getOrder() {
+			return order;
+		}
+
+		@Override
+		public boolean supports(String delimiter) {
+			return delimiters.contains(delimiter);
+		}
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link InMemoryPluginRegistryObserver} and {@link PluginRegistryMetrics}.
+ *
+ * @author Oliver Drotbohm
+ */
+class InMemoryPluginRegistryObserverUnitTest {
+
+	InMemoryPluginRegistryObserver observer = new InMemoryPluginRegistryObserver();
+
+	@Test
+	void recordsLookupsMissesAndMatches() {
+
+		SamplePlugin first = new SamplePluginImplementation();
+		SamplePlugin second = new SamplePluginImplementation();
+
+		SimplePluginRegistry<SamplePlugin, String> registry = SimplePluginRegistry.of(first, second)
+				.withObserver("samples", observer);
+
+		registry.getPluginFor("FOO");
+		registry.getPluginsFor("FOO");
+		registry.hasPluginFor("BAR");
+
+		PluginRegistryMetrics metrics = observer.getMetrics("samples").orElseThrow();
+
+		assertThat(metrics.getLookups()).isEqualTo(3);
+		assertThat(metrics.getMisses()).isEqualTo(1);
+		assertThat(metrics.getHitRatio()).isEqualTo(2.0 / 3);
+		assertThat(metrics.getMatchCounts()).containsEntry(first, 2L).containsEntry(second, 1L);
+		assertThat(metrics.getLatencyHistogram()).hasSize(64);
+		assertThat(metrics.getLatencyHistogram()).matches(it -> Arrays.stream(it).sum() == 3);
+	}
+
+	@Test
+	void recordsAsyncLookups() {
+
+		SamplePlugin first = new SamplePluginImplementation();
+		SamplePlugin second = new SamplePluginImplementation();
+
+		SimplePluginRegistry<SamplePlugin, String> registry = SimplePluginRegistry.of(first, second)
+				.withObserver("samples", observer);
+
+		registry.getPluginForAsync("FOO").join();
+		registry.getPluginsForAsync("FOO").join();
+		registry.getPluginForAsync("BAR").join();
+
+		assertThat(observer.getMetrics("samples")).hasValueSatisfying(it -> {
+			assertThat(it.getLookups()).isEqualTo(3);
+			assertThat(it.getMisses()).isOne();
+			assertThat(it.getMatchCounts()).containsEntry(first, 2L).containsEntry(second, 1L);
+		});
+	}
+
+	@Test
+	void recordsCachedLookups() {
+
+		OrderAwarePluginRegistry<SamplePlugin, String> registry = OrderAwarePluginRegistry
+				.<String, SamplePlugin> of(new SamplePluginImplementation())
+				.withCache(10)
+				.withObserver("samples", observer);
+
+		registry.getPluginFor("FOO");
+		registry.getPluginFor("FOO");
+
+		assertThat(observer.getMetrics("samples")).hasValueSatisfying(it -> {
+			assertThat(it.getLookups()).isEqualTo(2);
+			assertThat(it.getMisses()).isZero();
+		});
+	}
+
+	@Test
+	void keepsMetricsPerRegistry() {
+
+		SimplePluginRegistry<SamplePlugin, String> registry = SimplePluginRegistry.of(new SamplePluginImplementation());
+
+		registry.withObserver("first", observer).getPluginFor("FOO");
+		registry.withObserver("second", observer).getPluginFor("BAR");
+		registry.getPluginFor("FOO");
+
+		assertThat(observer.getMetrics()).containsOnlyKeys("first", "second");
+		assertThat(observer.getMetrics("first").orElseThrow().getMisses()).isZero();
+		assertThat(observer.getMetrics("second").orElseThrow().getMisses()).isOne();
+	}
+
+	@Test
+	void derivesLatencyPercentilesFromHistogram() {
+
+		PluginRegistryMetrics metrics = new PluginRegistryMetrics();
+
+		assertThat(metrics.getLatencyPercentileNanos(0.5)).isZero();
+
+		metrics.recordLookup(1, 100);
+		metrics.recordLookup(1, 100);
+		metrics.recordLookup(0, 5000);
+
+		assertThat(metrics.getLatencyPercentileNanos(0.5)).isEqualTo(127);
+		assertThat(metrics.getLatencyPercentileNanos(1.0)).isEqualTo(8191);
+		assertThat(metrics.getMeanLatencyNanos()).isCloseTo(1733.3, within(0.1));
+		assertThatIllegalArgumentException().isThrownBy(() -> metrics.getLatencyPercentileNanos(1.5));
+	}
+}
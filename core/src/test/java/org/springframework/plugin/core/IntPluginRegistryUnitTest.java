@@ -0,0 +1,146 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.Ordered;
+
+/**
+ * Unit tests for {@link IntPluginRegistry}.
+ *
+ * @author Oliver Drotbohm
+ */
+class IntPluginRegistryUnitTest {
+
+	@Test
+	void looksUpPluginsByOrderForDeclaredKeys() {
+
+		var low = new CodePlugin(5, 1, 2);
+		var high = new CodePlugin(1, 2, 3);
+		var any = new CodePlugin(3, null);
+
+		IntPluginRegistry<CodePlugin> registry = IntPluginRegistry.of(low, any, high);
+
+		assertThat(registry.getPlugins()).containsExactly(high, any, low);
+		assertThat(registry.findPluginFor(1)).isSameAs(any);
+		assertThat(registry.getPluginsFor(2)).containsExactly(high, any, low);
+		assertThat(registry.getPluginsFor(3)).containsExactly(high, any);
+		assertThat(registry.getPluginsFor(4)).containsExactly(any);
+	}
+
+	@Test
+	void onlyConsultsPluginsDeclaringKey() {
+
+		var first = new CodePlugin(1, 1);
+		var second = new CodePlugin(2, 2);
+
+		IntPluginRegistry<CodePlugin> registry = IntPluginRegistry.of(first, second);
+
+		assertThat(registry.getPluginFor(2)).hasValue(second);
+		assertThat(first.invocations).isZero();
+		assertThat(registry.hasPluginFor(3)).isFalse();
+		assertThat(first.invocations + second.invocations).isOne();
+	}
+
+	@Test
+	void dropsNullPlugins() {
+
+		var plugin = new CodePlugin(1, 42);
+
+		IntPluginRegistry<CodePlugin> registry = IntPluginRegistry.of(null, plugin, null);
+
+		assertThat(registry.getPlugins()).containsExactly(plugin);
+		assertThat(registry.countPlugins()).isOne();
+		assertThat(registry.findPluginFor(42)).isSameAs(plugin);
+		assertThat(registry.getPluginsFor(41)).isEmpty();
+	}
+
+	@Test
+	void exposesBoxedLookups() {
+
+		var plugin = new CodePlugin(1, 42);
+
+		IntPluginRegistry<CodePlugin> registry = IntPluginRegistry.of(plugin);
+		PluginRegistry<CodePlugin, Integer> boxed = registry;
+
+		assertThat(boxed.getPluginFor(Integer.valueOf(42))).hasValue(plugin);
+		assertThat(boxed.getPluginsFor(Integer.valueOf(41))).isEmpty();
+		assertThat(boxed.countPlugins()).isOne();
+		assertThatIllegalArgumentException().isThrownBy(() -> registry.getRequiredPluginFor(41));
+	}
+
+	@Test
+	void resolvesSamePluginsAsOrderAwarePluginRegistry() {
+
+		var random = new Random(42);
+		List<CodePlugin> plugins = new ArrayList<>();
+
+		for (int i = 0; i < 200; i++) {
+
+			// Mix dense and sparse keys as well as plugins not declaring any
+			int[] keys = random.nextInt(4) == 0 ? null
+					: random.ints(3, 0, 100).map(it -> it % 10 == 0 ? it * 100_000 : it).toArray();
+
+			plugins.add(new CodePlugin(random.nextInt(20), keys));
+		}
+
+		IntPluginRegistry<CodePlugin> registry = IntPluginRegistry.of(plugins);
+		OrderAwarePluginRegistry<CodePlugin, Integer> reference = OrderAwarePluginRegistry.of(plugins);
+
+		IntStream.rangeClosed(-10, 10_000_000).filter(it -> it < 200 || it % 1_000_000 == 0).forEach(it -> {
+			assertThat(registry.findPluginFor(it)).isSameAs(reference.findPluginFor(it));
+			assertThat(registry.getPluginsFor(it)).isEqualTo(reference.getPluginsFor(it));
+		});
+	}
+
+	static class CodePlugin implements IntPlugin, Ordered {
+
+		private final int order;
+		private final int @Nullable [] keys;
+		int invocations;
+
+		CodePlugin(int order, int @Nullable... keys) {
+			this.order = order;
+			this.keys = keys;
+		}
+
+		@Override
+		public int @Nullable [] getSupportedKeys() {
+			return keys;
+		}
+
+		@Override
+		public boolean supports(int delimiter) {
+
+			invocations++;
+
+			return keys == null || IntStream.of(keys).anyMatch(it -> it == delimiter);
+		}
+
+		@Override
+		public int getOrder() {
+			return order;
+		}
+	}
+}
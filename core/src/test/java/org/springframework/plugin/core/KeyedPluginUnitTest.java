@@ -0,0 +1,176 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.Ordered;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for {@link KeyedPlugin} and its integration into the registry lookups.
+ *
+ * @author Oliver Drotbohm
+ */
+class KeyedPluginUnitTest {
+
+	@Test
+	void mergesUnkeyedPluginsIntoBucketsInOrder() {
+
+		var foo = new StringPlugin(1, "foo");
+		var fooBar = new StringPlugin(3, "foo", "bar");
+		var any = new AnyPlugin(2);
+
+		var registry = OrderAwarePluginRegistry.<String, Plugin<String>> of(fooBar, any, foo);
+
+		assertThat(registry.getPluginsFor("foo")).containsExactly(foo, any, fooBar);
+		assertThat(registry.getPluginsFor("bar")).containsExactly(any, fooBar);
+		assertThat(registry.getPluginsFor("baz")).containsExactly(any);
+		assertThat(registry.getPluginFor("bar")).hasValue(any);
+	}
+
+	@Test
+	void doesNotConsultKeyedPluginsForOtherKeys() {
+
+		var foo = new StringPlugin(1, "foo");
+		var registry = OrderAwarePluginRegistry.<String, Plugin<String>> of(foo);
+
+		assertThat(registry.hasPluginFor("bar")).isFalse();
+		assertThat(foo.invocations).isZero();
+
+		assertThat(registry.getRequiredPluginFor("foo")).isSameAs(foo);
+		assertThat(foo.invocations).isOne();
+	}
+
+	@Test
+	void usesEnumMapForEnumKeys() {
+
+		var registry = OrderAwarePluginRegistry.<Color, ColorPlugin> of(new ColorPlugin(Color.RED),
+				new ColorPlugin(Color.GREEN, Color.BLUE));
+
+		assertThat(registry.getPluginFor(Color.BLUE)).hasValueSatisfying(it -> {
+			assertThat(it.getSupportedKeys()).contains(Color.BLUE);
+		});
+
+		PluginKeyIndex index = (PluginKeyIndex) ReflectionTestUtils.getField(registry.getSnapshot(), "keyIndex");
+		Map<?, ?> buckets = (Map<?, ?>) ReflectionTestUtils.getField(index, "buckets");
+
+		assertThat(buckets).isInstanceOf(EnumMap.class);
+	}
+
+	@Test
+	void answersMissesWithoutConsultingPlugins() {
+
+		var foo = new StringPlugin(1, "foo");
+		var bar = new StringPlugin(2, "bar");
+		var registry = OrderAwarePluginRegistry.<String, Plugin<String>> of(foo, bar);
+
+		for (int i = 0; i < 100; i++) {
+			assertThat(registry.hasPluginFor("unknown" + i)).isFalse();
+		}
+
+		assertThat(registry.hasPluginFor("foo")).isTrue();
+		assertThat(registry.getPluginOrDefaultFor("baz", bar)).isSameAs(bar);
+		assertThat(foo.invocations + bar.invocations).isOne();
+	}
+
+	enum Color {
+		RED, GREEN, BLUE;
+	}
+
+	@Test
+	void resolvesBatchPerKeyBucket() {
+
+		var foo = new StringPlugin(1, "foo");
+		var fooBar = new StringPlugin(3, "foo", "bar");
+		var any = new AnyPlugin(2);
+
+		var registry = OrderAwarePluginRegistry.<String, Plugin<String>> of(fooBar, any, foo);
+
+		assertThat(registry.findPluginForEach(List.of("bar", "foo", "baz", "foo"))).containsExactly(any, foo, any, foo);
+		assertThat(foo.invocations).isOne();
+		assertThat(fooBar.invocations).isZero();
+	}
+
+	static class ColorPlugin implements KeyedPlugin<Color> {
+
+		private final Set<Color> keys;
+
+		ColorPlugin(Color... keys) {
+			this.keys = Set.of(keys);
+		}
+
+		@Override
+		public Set<Color> getSupportedKeys() {
+			return keys;
+		}
+	}
+
+	static class StringPlugin implements KeyedPlugin<String>, Ordered {
+
+		private final int order;
+		private final Set<String> keys;
+		int invocations;
+
+		StringPlugin(int order, String... keys) {
+			this.order = order;
+			this.keys = Set.of(keys);
+		}
+
+		@Override
+		public Set<String> getSupportedKeys() {
+			return keys;
+		}
+
+		@Override
+		public boolean supports(String delimiter) {
+
+			invocations++;
+
+			return KeyedPlugin.super.supports(delimiter);
+		}
+
+		@Override
+		public int getOrder() {
+			return order;
+		}
+	}
+
+	static class AnyPlugin implements Plugin<String>, Ordered {
+
+		private final int order;
+
+		AnyPlugin(int order) {
+			this.order = order;
+		}
+
+		@Override
+		public boolean supports(String delimiter) {
+			return true;
+		}
+
+		@Override
+		public int getOrder() {
+			return order;
+		}
+	}
+}
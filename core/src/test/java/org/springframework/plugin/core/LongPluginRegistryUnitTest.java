@@ -0,0 +1,97 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Unit tests for {@link LongPluginRegistry}.
+ *
+ * @author Oliver Drotbohm
+ */
+class LongPluginRegistryUnitTest {
+
+	@Test
+	void looksUpSparseKeys() {
+
+		var extremes = new ExtremesPlugin();
+		var fallback = new FallbackPlugin();
+
+		LongPluginRegistry<LongPlugin> registry = LongPluginRegistry.of(fallback, extremes);
+
+		assertThat(registry.getPluginsFor(Long.MIN_VALUE)).containsExactly(extremes, fallback);
+		assertThat(registry.getPluginsFor(Long.MAX_VALUE)).containsExactly(extremes, fallback);
+		assertThat(registry.findPluginFor(-1L)).isSameAs(extremes);
+		assertThat(registry.findPluginFor(0L)).isSameAs(fallback);
+	}
+
+	@Test
+	void dropsNullPlugins() {
+
+		var extremes = new ExtremesPlugin();
+		var fallback = new FallbackPlugin();
+
+		LongPluginRegistry<LongPlugin> registry = LongPluginRegistry.of(Arrays.asList(null, fallback, null, extremes));
+
+		assertThat(registry.getPlugins()).containsExactly(extremes, fallback);
+		assertThat(registry.findPluginFor(Long.MAX_VALUE)).isSameAs(extremes);
+		assertThat(registry.findPluginFor(0L)).isSameAs(fallback);
+	}
+
+	@Test
+	void exposesBoxedLookups() {
+
+		var extremes = new ExtremesPlugin();
+
+		PluginRegistry<LongPlugin, Long> registry = LongPluginRegistry.<LongPlugin> of(extremes);
+
+		assertThat(registry.getPluginFor(Long.valueOf(-1L))).hasValue(extremes);
+		assertThat(registry.getPluginFor(Long.valueOf(1L))).isEmpty();
+		assertThat(registry.contains(extremes)).isTrue();
+	}
+
+	@Order(1)
+	static class ExtremesPlugin implements LongPlugin {
+
+		private static final long[] KEYS = { Long.MIN_VALUE, -1L, Long.MAX_VALUE };
+
+		@Override
+		public long @Nullable [] getSupportedKeys() {
+			return KEYS;
+		}
+
+		@Override
+		public boolean supports(long delimiter) {
+			return LongStream.of(KEYS).anyMatch(it -> it == delimiter);
+		}
+	}
+
+	@Order(2)
+	static class FallbackPlugin implements LongPlugin {
+
+		@Override
+		public boolean supports(long delimiter) {
+			return delimiter >= 0 || delimiter == Long.MIN_VALUE;
+		}
+	}
+}
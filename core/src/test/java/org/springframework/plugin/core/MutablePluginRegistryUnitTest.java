@@ -0,0 +1,117 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.Ordered;
+
+/**
+ * Unit tests for {@link MutablePluginRegistry}.
+ *
+ * @author Oliver Drotbohm
+ */
+class MutablePluginRegistryUnitTest {
+
+	@Test
+	void registersPluginsInOrder() {
+
+		MutablePluginRegistry<OrderedPlugin, String> registry = MutablePluginRegistry.empty();
+
+		OrderedPlugin late = new OrderedPlugin("FOO", 10);
+		OrderedPlugin early = new OrderedPlugin("FOO", 1);
+		OrderedPlugin middle = new OrderedPlugin("FOO", 5);
+		OrderedPlugin anotherMiddle = new OrderedPlugin("FOO", 5);
+
+		registry.register(late);
+		registry.register(early);
+		registry.register(middle);
+		registry.register(anotherMiddle);
+
+		assertThat(registry.getPlugins()).containsExactly(early, middle, anotherMiddle, late);
+		assertThat(registry.getPluginFor("FOO")).containsSame(early);
+		assertThat(registry.getVersion()).isEqualTo(4);
+	}
+
+	@Test
+	void unregistersPlugins() {
+
+		OrderedPlugin first = new OrderedPlugin("FOO", 1);
+		OrderedPlugin second = new OrderedPlugin("FOO", 2);
+
+		MutablePluginRegistry<OrderedPlugin, String> registry = MutablePluginRegistry.of(List.of(second, first));
+
+		assertThat(registry.getPlugins()).containsExactly(first, second);
+		assertThat(registry.unregister(first)).isTrue();
+		assertThat(registry.unregister(first)).isFalse();
+		assertThat(registry.getPluginFor("FOO")).containsSame(second);
+		assertThat(registry.getVersion()).isOne();
+	}
+
+	@Test
+	void keepsSnapshotHandedOutBeforeModification() {
+
+		MutablePluginRegistry<OrderedPlugin, String> registry = MutablePluginRegistry.of(Comparator.comparing(it -> 0));
+
+		registry.register(new OrderedPlugin("FOO", 0));
+
+		List<OrderedPlugin> plugins = registry.getPlugins();
+
+		registry.register(new OrderedPlugin("FOO", 0));
+
+		assertThat(plugins).hasSize(1);
+		assertThat(registry.getPlugins()).hasSize(2);
+	}
+
+	@Test
+	void dropsCachedResolutionsOnModification() {
+
+		MutablePluginRegistry<OrderedPlugin, String> registry = MutablePluginRegistry.<String, OrderedPlugin> empty()
+				.withCache(10);
+
+		assertThat(registry.hasPluginFor("FOO")).isFalse();
+
+		OrderedPlugin plugin = new OrderedPlugin("FOO", 0);
+		registry.register(plugin);
+
+		assertThat(registry.getPluginsFor("FOO")).containsExactly(plugin);
+	}
+
+	static class OrderedPlugin implements Plugin<String>, Ordered {
+
+		private final String supported;
+		private final int order;
+
+		OrderedPlugin(String supported, int order) {
+			this.supported = supported;
+			this.order = order;
+		}
+
+		@Override
+		public boolean supports(String delimiter) {
+			return supported.equals(delimiter);
+		}
+
+		@Override
+		public int getOrder() {
+			return order;
+		}
+	}
+}
@@ -18,8 +18,11 @@ package org.springframework.plugin.core;
 import static org.assertj.core.api.Assertions.*;
 import static org.springframework.plugin.core.PluginRegistry.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -81,6 +84,16 @@ class OrderAwarePluginRegistryUnitTest extends SimplePluginRegistryUnitTest {
 		assertOrder(registry.reverse(), firstPlugin, thirdPlugin, secondPlugin);
 	}
 
+	@Test
+	void dropsNullPlugins() {
+
+		OrderAwarePluginRegistry<TestPlugin, String> registry = OrderAwarePluginRegistry
+				.of(Arrays.asList(firstPlugin, null, secondPlugin));
+
+		assertOrder(registry, secondPlugin, firstPlugin);
+		assertOrder(registry.reverse(), firstPlugin, secondPlugin);
+	}
+
 	@Test
 	void defaultSetupUsesDefaultComparator() {
 		assertDefaultComparator(OrderAwarePluginRegistry.empty());
@@ -96,6 +109,72 @@ class OrderAwarePluginRegistryUnitTest extends SimplePluginRegistryUnitTest {
 		assertThat(field).isEqualTo(ReflectionTestUtils.getField(registry, "DEFAULT_REVERSE_COMPARATOR"));
 	}
 
+	@Test
+	void reusesSnapshotOfSupplierBackedRegistry() {
+
+		var invocations = new AtomicInteger();
+		OrderAwarePluginRegistry<TestPlugin, String> registry = OrderAwarePluginRegistry.of(() -> {
+			invocations.incrementAndGet();
+			return List.of(firstPlugin, secondPlugin);
+		});
+
+		assertThat(invocations).hasValue(0);
+
+		assertOrder(registry, secondPlugin, firstPlugin);
+		assertThat(registry.countPlugins()).isEqualTo(2);
+		assertThat(registry.contains(firstPlugin)).isTrue();
+		assertThat(registry.getPlugins()).isSameAs(registry.getPlugins());
+		assertThat(invocations).hasValue(1);
+	}
+
+	@Test
+	void refreshRebuildsSnapshotFromSupplier() {
+
+		List<TestPlugin> plugins = new ArrayList<>(List.of(firstPlugin));
+		OrderAwarePluginRegistry<TestPlugin, String> registry = OrderAwarePluginRegistry.<String, TestPlugin> of(
+				() -> plugins).withCache(10);
+
+		assertOrder(registry, firstPlugin);
+
+		plugins.add(secondPlugin);
+		assertOrder(registry, firstPlugin);
+
+		registry.refresh();
+		assertOrder(registry, secondPlugin, firstPlugin);
+	}
+
+	@Test
+	void initializesSnapshotOnExecutor() throws Exception {
+
+		var invocations = new AtomicInteger();
+		OrderAwarePluginRegistry<TestPlugin, String> registry = OrderAwarePluginRegistry.of(() -> {
+			invocations.incrementAndGet();
+			return List.of(firstPlugin, secondPlugin);
+		});
+
+		assertThat(registry.whenReady()).isNotDone();
+
+		assertThat(registry.initialize(Runnable::run)).isCompletedWithValue(registry);
+		assertThat(registry.whenReady()).isCompletedWithValue(registry);
+		assertThat(invocations).hasValue(1);
+
+		assertOrder(registry, secondPlugin, firstPlugin);
+		assertThat(invocations).hasValue(1);
+	}
+
+	@Test
+	void becomesReadyOnFirstLookup() {
+
+		OrderAwarePluginRegistry<TestPlugin, String> registry = OrderAwarePluginRegistry
+				.of(() -> List.of(firstPlugin));
+
+		assertThat(registry.whenReady()).isNotDone();
+
+		registry.getPluginFor("delimiter");
+
+		assertThat(registry.whenReady()).isCompletedWithValue(registry);
+	}
+
 	private static void assertOrder(PluginRegistry<TestPlugin, String> registry, TestPlugin... plugins) {
 
 		List<TestPlugin> result = registry.getPluginsFor("delimiter");
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link PluginProfiler}.
+ *
+ * @author Oliver Drotbohm
+ */
+class PluginProfilerUnitTest {
+
+	@Test
+	void flagsPluginsExceedingBudget() {
+
+		SamplePlugin fast = new SamplePluginImplementation();
+		SamplePlugin slow = new SimplePluginRegistryUnitTest.PredicatePlugin(it -> {
+
+			try {
+				Thread.sleep(5);
+			} catch (InterruptedException o_O) {
+				Thread.currentThread().interrupt();
+			}
+
+			return false;
+		});
+
+		var profiler = new PluginProfiler(1, Duration.ofMillis(1));
+		OrderAwarePluginRegistry<SamplePlugin, String> registry = OrderAwarePluginRegistry.of(slow, fast)
+				.withProfiler(profiler);
+
+		registry.getPluginFor("FOO");
+		registry.getPluginsFor("FOO");
+
+		assertThat(profiler.getProfiles()).extracting(PluginProfile::getPlugin).containsExactly(slow, fast);
+		assertThat(profiler.getPluginsOverBudget()).singleElement().satisfies(it -> {
+			assertThat(it.getPlugin()).isSameAs(slow);
+			assertThat(it.getSamples()).isEqualTo(2);
+			assertThat(it.getBudgetViolations()).isEqualTo(2);
+			assertThat(it.getWallTimePercentileNanos(0.5)).isGreaterThanOrEqualTo(Duration.ofMillis(5).toNanos());
+		});
+	}
+
+	@Test
+	void samplesOnlyFractionOfInvocations() {
+
+		SamplePlugin plugin = new SamplePluginImplementation();
+		var profiler = new PluginProfiler(2, Duration.ofSeconds(1));
+		SimplePluginRegistry<SamplePlugin, String> registry = SimplePluginRegistry.of(plugin).withProfiler(profiler);
+
+		for (int i = 0; i < 1000; i++) {
+			registry.hasPluginFor("FOO");
+		}
+
+		assertThat(profiler.getProfiles()).singleElement().satisfies(it -> {
+			assertThat(it.getSamples()).isBetween(300L, 700L);
+			assertThat(it.isOverBudget()).isFalse();
+		});
+
+		profiler.reset();
+
+		assertThat(profiler.getProfiles()).isEmpty();
+	}
+
+	@Test
+	void profilesAsyncLookups() {
+
+		SamplePlugin plugin = new SamplePluginImplementation();
+		var profiler = new PluginProfiler(1, Duration.ofSeconds(1));
+		SimplePluginRegistry<SamplePlugin, String> registry = SimplePluginRegistry.of(plugin).withProfiler(profiler);
+
+		registry.getPluginForAsync("FOO").join();
+		registry.getPluginsForAsync("FOO").join();
+
+		assertThat(profiler.getProfiles()).singleElement().satisfies(it -> {
+			assertThat(it.getPlugin()).isSameAs(plugin);
+			assertThat(it.getSamples()).isEqualTo(2);
+		});
+	}
+
+	@Test
+	void rejectsInvalidConfiguration() {
+
+		assertThatIllegalArgumentException().isThrownBy(() -> new PluginProfiler(0, Duration.ZERO));
+		assertThatIllegalArgumentException().isThrownBy(() -> new PluginProfiler(1, Duration.ofMillis(-1)));
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Unit tests for {@link PluginSorter}.
+ *
+ * @author Oliver Drotbohm
+ */
+class PluginSorterUnitTest {
+
+	@Test
+	void sortsLikeDefaultComparators() {
+
+		for (int size : new int[] { 0, 1, 50, PluginSorter.PARALLEL_THRESHOLD + 1 }) {
+
+			List<SamplePlugin> plugins = createPlugins(size);
+
+			assertSortedLike(plugins, OrderAwarePluginRegistry.DEFAULT_COMPARATOR);
+			assertSortedLike(plugins, OrderAwarePluginRegistry.DEFAULT_REVERSE_COMPARATOR);
+		}
+	}
+
+	@Test
+	void keepsRegistrationOrderOfPluginsWithEqualOrder() {
+
+		var first = new Unordered();
+		var second = new Unordered();
+		var third = new Annotated();
+
+		List<SamplePlugin> plugins = List.of(first, third, second);
+
+		assertThat(PluginSorter.sort(plugins, OrderAwarePluginRegistry.DEFAULT_COMPARATOR)) //
+				.containsExactly(third, first, second);
+		assertThat(PluginSorter.sort(plugins, OrderAwarePluginRegistry.DEFAULT_REVERSE_COMPARATOR)) //
+				.containsExactly(first, second, third);
+	}
+
+	@Test
+	void revertsDefaultComparators() {
+
+		assertThat(PluginSorter.<Object> reverse(OrderAwarePluginRegistry.DEFAULT_COMPARATOR))
+				.isSameAs(OrderAwarePluginRegistry.DEFAULT_REVERSE_COMPARATOR);
+		assertThat(PluginSorter.<Object> reverse(OrderAwarePluginRegistry.DEFAULT_REVERSE_COMPARATOR))
+				.isSameAs(OrderAwarePluginRegistry.DEFAULT_COMPARATOR);
+	}
+
+	private static void assertSortedLike(List<SamplePlugin> plugins, Comparator<Object> comparator) {
+
+		List<SamplePlugin> expected = new ArrayList<>(plugins);
+		expected.sort(comparator);
+
+		assertThat(PluginSorter.sort(plugins, comparator)).containsExactlyElementsOf(expected);
+	}
+
+	private static List<SamplePlugin> createPlugins(int size) {
+
+		var random = new Random(size);
+		List<SamplePlugin> result = new ArrayList<>(size);
+
+		for (int i = 0; i < size; i++) {
+
+			int order = random.nextInt(10) - 5;
+
+			result.add(switch (random.nextInt(5)) {
+				case 0 -> new Unordered();
+				case 1 -> new Annotated();
+				case 2 -> new OrderedPlugin(order);
+				case 3 -> new PriorityOrderedPlugin(order == 0 ? Integer.MIN_VALUE : order * 1000);
+				default -> (SamplePlugin) new ProxyFactory(new Annotated()).getProxy();
+			});
+		}
+
+		return result;
+	}
+
+	static class Unordered extends SamplePluginImplementation {}
+
+	@Order(-2)
+	static class Annotated extends SamplePluginImplementation {}
+
+	static class OrderedPlugin extends SamplePluginImplementation implements Ordered {
+
+		private final int order;
+
+		OrderedPlugin(int order) {
+			this.order = order;
+		}
+
+		@Override
+		public int getOrder() {
+			return order;
+		}
+	}
+
+	static class PriorityOrderedPlugin extends OrderedPlugin implements PriorityOrdered {
+
+		PriorityOrderedPlugin(int order) {
+			super(order);
+		}
+	}
+}
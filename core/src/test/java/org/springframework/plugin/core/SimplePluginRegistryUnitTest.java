@@ -21,9 +21,25 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
 
 /**
  * Unit test for {@link SimplePluginRegistry}.
@@ -159,4 +175,606 @@ class SimplePluginRegistryUnitTest {
 				.isThrownBy(() -> registry.getRequiredPluginFor("FOO", () -> "message"))
 				.withMessage("message");
 	}
+
+	@Test
+	void findsPluginOrReturnsNull() {
+
+		registry = SimplePluginRegistry.of(plugin);
+
+		assertThat(registry.findPluginFor("FOO")).isSameAs(plugin);
+		assertThat(registry.findPluginFor("BAR")).isNull();
+		assertThat(registry.getPluginOrDefaultFor("FOO", () -> null)).isSameAs(plugin);
+		assertThat(registry.getRequiredPluginFor("FOO")).isSameAs(plugin);
+	}
+
+	@Test
+	void rejectsNullDelimiterForLookup() {
+		assertThatIllegalArgumentException().isThrownBy(() -> registry.findPluginFor(null));
+	}
+
+	@Test
+	void reportsRegisteredPluginsIfRequiredPluginIsNotFound() {
+
+		registry = SimplePluginRegistry.of(plugin);
+
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> registry.getRequiredPluginFor("BAR"))
+				.withMessageContaining("BAR")
+				.withMessageContaining(plugin.toString());
+	}
+
+	@Test
+	void cachesResolutionsPerDelimiter() {
+
+		var counting = new CountingPlugin("FOO");
+		registry = SimplePluginRegistry.<String, SamplePlugin> of(counting, plugin).withCache(10);
+
+		List<SamplePlugin> first = registry.getPluginsFor("FOO");
+
+		assertThat(first).containsExactly(counting, plugin);
+		assertThat(registry.getPluginsFor("FOO")).isSameAs(first);
+		assertThat(registry.getPluginFor("FOO")).hasValue(counting);
+		assertThat(registry.getPluginFor("BAR")).isEmpty();
+		assertThat(registry.hasPluginFor("BAR")).isFalse();
+		assertThat(counting.invocations).isEqualTo(2);
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedResolution() {
+
+		var counting = new CountingPlugin("FOO");
+		registry = SimplePluginRegistry.<String, SamplePlugin> of(counting).withCache(2);
+
+		registry.getPluginFor("FOO");
+		registry.getPluginFor("BAR");
+		registry.getPluginFor("FOO");
+		registry.getPluginFor("BAZ");
+
+		assertThat(registry.getCache().size()).isEqualTo(2);
+		assertThat(counting.invocations).isEqualTo(3);
+
+		registry.getPluginFor("FOO");
+		assertThat(counting.invocations).isEqualTo(3);
+
+		registry.getPluginFor("BAR");
+		assertThat(counting.invocations).isEqualTo(4);
+	}
+
+	@Test
+	void keepsFrequentlyUsedResolutionWhileEvicting() {
+
+		var counting = new CountingPlugin("FOO");
+		registry = SimplePluginRegistry.<String, SamplePlugin> of(counting).withCache(4);
+
+		for (int i = 0; i < 100; i++) {
+			registry.getPluginFor("FOO");
+			registry.getPluginFor("BAR" + i);
+		}
+
+		assertThat(registry.getCache().size()).isEqualTo(4);
+		assertThat(counting.invocations).isEqualTo(101);
+	}
+
+	@Test
+	void usesExtractedKeyForCaching() {
+
+		var counting = new CountingPlugin("FOO");
+		registry = SimplePluginRegistry.<String, SamplePlugin> of(counting).withCache(10, String::toUpperCase);
+
+		assertThat(registry.getPluginFor("FOO")).hasValue(counting);
+		assertThat(registry.getPluginFor("foo")).hasValue(counting);
+		assertThat(counting.invocations).isEqualTo(1);
+	}
+
+	@Test
+	void rejectsInvalidCacheSize() {
+		assertThatIllegalArgumentException().isThrownBy(() -> registry.withCache(0));
+	}
+
+	@Test
+	void evaluatesPluginsInParallelKeepingOrder() {
+
+		List<SamplePlugin> plugins = IntStream.range(0, 100)
+				.mapToObj(it -> (SamplePlugin) new CountingPlugin(it % 7 == 3 ? "FOO" : "BAR"))
+				.toList();
+
+		var pool = new ForkJoinPool(4);
+
+		try {
+
+			SimplePluginRegistry<SamplePlugin, String> sequential = SimplePluginRegistry.of(plugins);
+			registry = sequential.withParallelEvaluation(pool, 2);
+
+			assertThat(registry.getPluginsFor("FOO")).containsExactlyElementsOf(sequential.getPluginsFor("FOO"));
+			assertThat(registry.findPluginFor("FOO")).isSameAs(plugins.get(3));
+			assertThat(registry.findPluginFor("BAR")).isSameAs(plugins.get(0));
+			assertThat(registry.findPluginFor("BAZ")).isNull();
+			assertThat(registry.getPluginsFor("BAZ")).isEmpty();
+
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void ignoresFailuresOfCandidatesFollowingParallelMatch() {
+
+		var failed = new CountDownLatch(1);
+
+		List<SamplePlugin> plugins = IntStream.range(0, 100)
+				.mapToObj(it -> (SamplePlugin) new PredicatePlugin(delimiter -> {
+
+					if (it > 3) {
+						failed.countDown();
+						throw new IllegalStateException("Boom!");
+					}
+
+					// Only decides once a later candidate has failed
+					try {
+						return it == 3 && failed.await(5, TimeUnit.SECONDS);
+					} catch (InterruptedException o_O) {
+						return false;
+					}
+				}))
+				.toList();
+
+		var pool = new ForkJoinPool(4);
+
+		try {
+
+			registry = SimplePluginRegistry.of(plugins).withParallelEvaluation(pool, 2);
+
+			assertThat(registry.findPluginFor("FOO")).isSameAs(plugins.get(3));
+
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void propagatesFailureOfCandidatePrecedingParallelMatch() {
+
+		List<SamplePlugin> plugins = IntStream.range(0, 100)
+				.mapToObj(it -> (SamplePlugin) new PredicatePlugin(delimiter -> {
+
+					if (it == 42) {
+						throw new IllegalStateException("Boom!");
+					}
+
+					return it == 97;
+				}))
+				.toList();
+
+		var pool = new ForkJoinPool(4);
+
+		try {
+
+			registry = SimplePluginRegistry.of(plugins).withParallelEvaluation(pool, 2);
+
+			assertThatIllegalStateException().isThrownBy(() -> registry.findPluginFor("FOO")).withMessage("Boom!");
+
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void rejectsInvalidParallelEvaluationThreshold() {
+		assertThatIllegalArgumentException().isThrownBy(() -> registry.withParallelEvaluation(ForkJoinPool.commonPool(), 0));
+	}
+
+	@Test
+	void exposesSizedOrderedImmutableSpliterator() {
+
+		SamplePlugin other = new SamplePluginImplementation();
+		registry = SimplePluginRegistry.of(plugin, other);
+
+		Spliterator<SamplePlugin> spliterator = registry.spliterator();
+
+		assertThat(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED
+				| Spliterator.IMMUTABLE | Spliterator.NONNULL)).isTrue();
+		assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(2);
+		assertThat(StreamSupport.stream(registry.spliterator(), true).toList()).containsExactly(plugin, other);
+	}
+
+	@Test
+	void looksUpPluginsAsynchronouslyKeepingOrder() {
+
+		List<SamplePlugin> plugins = IntStream.range(0, 20)
+				.mapToObj(it -> (SamplePlugin) new CountingPlugin(it % 7 == 3 ? "FOO" : "BAR"))
+				.toList();
+
+		registry = SimplePluginRegistry.of(plugins);
+
+		assertThat(registry.getPluginForAsync("FOO").join()).containsSame(plugins.get(3));
+		assertThat(registry.getPluginForAsync("BAZ").join()).isEmpty();
+		assertThat(registry.getPluginsForAsync("FOO").join()).containsExactlyElementsOf(registry.getPluginsFor("FOO"));
+		assertThat(registry.getPluginsForAsync("BAZ").join()).isEmpty();
+	}
+
+	@Test
+	void cancelsOutstandingAsyncEvaluationsOnceFirstMatchIsKnown() throws Exception {
+
+		var started = new CountDownLatch(1);
+		var interrupted = new CountDownLatch(1);
+
+		// Only decides once the blocking plugin is running
+		SamplePlugin first = new PredicatePlugin(it -> {
+
+			try {
+				return started.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException o_O) {
+				return false;
+			}
+		});
+
+		SamplePlugin blocking = new PredicatePlugin(it -> {
+
+			started.countDown();
+
+			try {
+				new CountDownLatch(1).await();
+			} catch (InterruptedException o_O) {
+				interrupted.countDown();
+			}
+
+			return true;
+		});
+
+		registry = SimplePluginRegistry.of(first, blocking);
+
+		assertThat(registry.getPluginForAsync("FOO").get(5, TimeUnit.SECONDS)).containsSame(first);
+		assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	void failsAsyncLookupOnlyIfNoEarlierPluginDecidedIt() {
+
+		SamplePlugin failing = new PredicatePlugin(it -> {
+			throw new IllegalStateException("Boom!");
+		});
+
+		registry = SimplePluginRegistry.of(plugin, failing);
+
+		assertThat(registry.getPluginForAsync("FOO").join()).containsSame(plugin);
+		assertThatExceptionOfType(CompletionException.class)
+				.isThrownBy(() -> registry.getPluginsForAsync("FOO").join())
+				.withCauseInstanceOf(IllegalStateException.class);
+
+		registry = SimplePluginRegistry.of(failing, plugin);
+
+		assertThatExceptionOfType(CompletionException.class)
+				.isThrownBy(() -> registry.getPluginForAsync("FOO").join())
+				.withCauseInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void doesNotInterruptThreadsOfGivenExecutor() throws Exception {
+
+		var started = new CountDownLatch(1);
+		var released = new CountDownLatch(1);
+		var interrupted = new AtomicBoolean();
+
+		// Only decides once the blocking plugin is running
+		SamplePlugin first = new PredicatePlugin(it -> {
+
+			try {
+				return started.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException o_O) {
+				return false;
+			}
+		});
+
+		SamplePlugin blocking = new PredicatePlugin(it -> {
+
+			started.countDown();
+
+			try {
+				released.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException o_O) {
+				interrupted.set(true);
+			}
+
+			return true;
+		});
+
+		var executor = Executors.newFixedThreadPool(2);
+
+		try {
+
+			registry = SimplePluginRegistry.of(first, blocking);
+
+			assertThat(registry.getPluginForAsync("FOO", executor).get(5, TimeUnit.SECONDS)).containsSame(first);
+
+		} finally {
+
+			released.countDown();
+			executor.shutdown();
+		}
+
+		assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(interrupted).isFalse();
+	}
+
+	@Test
+	void usesGivenExecutorForAsyncLookup() {
+
+		var executions = new AtomicInteger();
+		Executor executor = it -> {
+			executions.incrementAndGet();
+			it.run();
+		};
+
+		registry = SimplePluginRegistry.of(plugin, new SamplePluginImplementation());
+
+		assertThat(registry.getPluginsForAsync("FOO", executor).join()).hasSize(2);
+		assertThat(executions.get()).isEqualTo(2);
+	}
+
+	@Test
+	void reordersPluginsByHitFrequency() {
+
+		CountingPlugin first = new CountingPlugin("FIRST");
+		CountingPlugin second = new CountingPlugin("SECOND");
+		CountingPlugin third = new CountingPlugin("THIRD");
+
+		registry = SimplePluginRegistry.<String, SamplePlugin> of(first, second, third)
+				.withAdaptiveOrdering(1, Runnable::run);
+
+		registry.getPluginFor("THIRD");
+		registry.getPluginFor("THIRD");
+		registry.getPluginFor("SECOND");
+
+		assertThat(registry.getPlugins()).containsExactly(third, second, first);
+
+		third.invocations = 0;
+		first.invocations = 0;
+
+		assertThat(registry.findPluginFor("THIRD")).isSameAs(third);
+		assertThat(third.invocations).isOne();
+		assertThat(first.invocations).isZero();
+
+		registry.refresh();
+
+		assertThat(registry.getPlugins()).containsExactly(first, second, third);
+	}
+
+	@Test
+	void keepsReorderingAfterFailedReordering() {
+
+		var fail = new AtomicBoolean();
+		var flaky = new FlakyKeyedPlugin(() -> {
+			if (fail.getAndSet(false)) {
+				throw new IllegalStateException();
+			}
+		});
+		CountingPlugin second = new CountingPlugin("SECOND");
+
+		Executor swallowing = task -> {
+			try {
+				task.run();
+			} catch (IllegalStateException o_O) {}
+		};
+
+		registry = SimplePluginRegistry.<String, SamplePlugin> of(flaky, second).withAdaptiveOrdering(1, swallowing);
+		registry.getPlugins();
+
+		// Fails the first reordering only
+		fail.set(true);
+		registry.getPluginFor("SECOND");
+		assertThat(registry.getPlugins()).containsExactly(flaky, second);
+
+		registry.getPluginFor("SECOND");
+		assertThat(registry.getPlugins()).containsExactly(second, flaky);
+	}
+
+	@Test
+	void compilesDispatchersOfReorderedSnapshotUpfront() {
+
+		CountingPlugin first = new CountingPlugin("FIRST");
+		CountingPlugin second = new CountingPlugin("SECOND");
+
+		var executions = new ArrayList<Runnable>();
+
+		registry = SimplePluginRegistry.<String, SamplePlugin> of(first, second).withCompiledDispatch()
+				.withAdaptiveOrdering(1, executions::add);
+
+		registry.getPluginFor("SECOND");
+		executions.forEach(Runnable::run);
+
+		assertThat(registry.getPlugins()).containsExactly(second, first);
+		assertThat((Map<?, ?>) ReflectionTestUtils.getField(registry.getSnapshot(), "dispatchers")).hasSize(1);
+	}
+
+	@Test
+	void rejectsInvalidReorderingInterval() {
+		assertThatIllegalArgumentException().isThrownBy(() -> registry.withAdaptiveOrdering(0));
+	}
+
+	@Test
+	void resolvesBatchOfDelimitersAlignedAndDeduplicated() {
+
+		CountingPlugin bar = new CountingPlugin("BAR");
+		CountingPlugin foo = new CountingPlugin("FOO");
+
+		registry = SimplePluginRegistry.of(bar, foo);
+
+		assertThat(registry.findPluginForEach(List.of("FOO", "BAR", "FOO", "BAZ"))).containsExactly(foo, bar, foo, null);
+		assertThat(bar.invocations).isEqualTo(3);
+		assertThat(foo.invocations).isEqualTo(2);
+
+		assertThat(registry.getPluginForEach(List.of("BAZ", "FOO", "BAR", "FOO"))) //
+				.containsExactly(entry("FOO", foo), entry("BAR", bar));
+	}
+
+	@Test
+	void resolvesBatchInParallelKeepingOrder() {
+
+		List<SamplePlugin> plugins = IntStream.range(0, 10)
+				.mapToObj(it -> (SamplePlugin) new PredicatePlugin(delimiter -> delimiter.hashCode() % (it + 2) == 0))
+				.toList();
+
+		List<String> delimiters = IntStream.range(0, 1000).mapToObj(String::valueOf).toList();
+
+		var pool = new ForkJoinPool(4);
+
+		try {
+
+			SimplePluginRegistry<SamplePlugin, String> sequential = SimplePluginRegistry.of(plugins);
+			registry = sequential.withParallelEvaluation(pool, 10);
+
+			List<SamplePlugin> expected = delimiters.stream() //
+					.map(sequential::findPluginFor) //
+					.toList();
+
+			assertThat(registry.findPluginForEach(delimiters)).containsExactlyElementsOf(expected);
+
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void rejectsNullDelimiterInBatch() {
+
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> registry.findPluginForEach(Arrays.asList("FOO", null)));
+	}
+
+	@Test
+	void streamsMatchingPluginsLazily() {
+
+		CountingPlugin first = new CountingPlugin("FOO");
+		CountingPlugin second = new CountingPlugin("FOO");
+		CountingPlugin third = new CountingPlugin("FOO");
+
+		registry = SimplePluginRegistry.of(first, second, third);
+
+		Stream<SamplePlugin> stream = registry.streamPluginsFor("FOO");
+
+		assertThat(first.invocations).isZero();
+		assertThat(stream.limit(2)).containsExactly(first, second);
+		assertThat(third.invocations).isZero();
+	}
+
+	@Test
+	void returnsLimitedNumberOfPlugins() {
+
+		CountingPlugin first = new CountingPlugin("FOO");
+		CountingPlugin second = new CountingPlugin("BAR");
+		CountingPlugin third = new CountingPlugin("FOO");
+		CountingPlugin fourth = new CountingPlugin("FOO");
+
+		registry = SimplePluginRegistry.of(first, second, third, fourth);
+
+		assertThat(registry.getPluginsFor("FOO", 2)).containsExactly(first, third);
+		assertThat(fourth.invocations).isZero();
+		assertThat(registry.getPluginsFor("FOO", 0)).isEmpty();
+		assertThat(registry.withCache(10).getPluginsFor("FOO", 2)).containsExactly(first, third);
+		assertThatIllegalArgumentException().isThrownBy(() -> registry.getPluginsFor("FOO", -1));
+	}
+
+	@Test
+	void compiledDispatchResolvesSamePluginsAsLoop() {
+
+		List<SamplePlugin> plugins = IntStream.range(0, 300)
+				.mapToObj(it -> it % 2 == 0 //
+						? new CountingPlugin(String.valueOf(it % 7)) //
+						: (SamplePlugin) new PredicatePlugin(delimiter -> delimiter.hashCode() % (it % 5 + 2) == 0))
+				.toList();
+
+		SimplePluginRegistry<SamplePlugin, String> plain = SimplePluginRegistry.of(plugins);
+		registry = plain.withCompiledDispatch();
+
+		IntStream.range(0, 50).mapToObj(String::valueOf).forEach(it -> {
+			assertThat(registry.getPluginFor(it)).isEqualTo(plain.getPluginFor(it));
+			assertThat(registry.getPluginsFor(it)).containsExactlyElementsOf(plain.getPluginsFor(it));
+		});
+	}
+
+	@Test
+	void keepsCompiledDispatcherUntilRefresh() {
+
+		registry = SimplePluginRegistry.<String, SamplePlugin> of(new CountingPlugin("FOO"), new CountingPlugin("BAR"))
+				.withCompiledDispatch();
+
+		PluginSnapshot<SamplePlugin> snapshot = registry.getSnapshot();
+		Object[] candidates = snapshot.getCandidates("FOO");
+		PluginDispatcher dispatcher = snapshot.getDispatcher("FOO", candidates);
+
+		assertThat(dispatcher.getClass().isHidden()).isTrue();
+		assertThat(dispatcher.firstMatch("BAR", 0)).isEqualTo(1);
+		assertThat(dispatcher.firstMatch("FOO", 1)).isEqualTo(-1);
+		assertThat(registry.getPluginFor("BAR")).isPresent();
+		assertThat(registry.getSnapshot().getDispatcher("FOO", candidates)).isSameAs(dispatcher);
+
+		registry.refresh();
+
+		PluginSnapshot<SamplePlugin> refreshed = registry.getSnapshot();
+
+		assertThat(refreshed.getDispatcher("FOO", refreshed.getCandidates("FOO"))).isNotSameAs(dispatcher);
+	}
+
+	static class PredicatePlugin implements SamplePlugin {
+
+		private final Predicate<String> predicate;
+
+		PredicatePlugin(Predicate<String> predicate) {
+			this.predicate = predicate;
+		}
+
+		@Override
+		public boolean supports(String delimiter) {
+			return predicate.test(delimiter);
+		}
+
+		@Override
+		public void pluginMethod() {}
+	}
+
+	static class FlakyKeyedPlugin implements SamplePlugin, KeyedPlugin<String> {
+
+		private final Runnable onKeys;
+
+		FlakyKeyedPlugin(Runnable onKeys) {
+			this.onKeys = onKeys;
+		}
+
+		@Override
+		public Set<String> getSupportedKeys() {
+
+			onKeys.run();
+
+			return Set.of("FIRST");
+		}
+
+		@Override
+		public boolean supports(String delimiter) {
+			return KeyedPlugin.super.supports(delimiter);
+		}
+
+		@Override
+		public void pluginMethod() {}
+	}
+
+	static class CountingPlugin implements SamplePlugin {
+
+		private final String supported;
+		int invocations;
+
+		CountingPlugin(String supported) {
+			this.supported = supported;
+		}
+
+		@Override
+		public boolean supports(String delimiter) {
+
+			invocations++;
+
+			return supported.equals(delimiter);
+		}
+
+		@Override
+		public void pluginMethod() {}
+	}
 }
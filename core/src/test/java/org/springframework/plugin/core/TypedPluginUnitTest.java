@@ -0,0 +1,143 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Unit tests for {@link TypedPlugin} and its integration into the registry lookups.
+ *
+ * @author Oliver Drotbohm
+ */
+class TypedPluginUnitTest {
+
+	NumberPlugin numbers = new NumberPlugin();
+	IntegerPlugin integers = new IntegerPlugin();
+	SerializablePlugin serializables = new SerializablePlugin();
+	AnyPlugin any = new AnyPlugin();
+
+	PluginRegistry<ObjectPlugin, Object> registry = OrderAwarePluginRegistry.of(numbers, integers, serializables, any);
+
+	@Test
+	void selectsPluginsByTypeOfDelimiterInstance() {
+
+		assertThat(registry.getPluginsFor(42)).containsExactly(integers, numbers, serializables, any);
+		assertThat(registry.getPluginsFor(42L)).containsExactly(numbers, serializables, any);
+		assertThat(registry.getPluginsFor("foo")).containsExactly(serializables, any);
+		assertThat(registry.getPluginsFor(new Object())).containsExactly(any);
+		assertThat(registry.getPluginFor(42)).hasValue(integers);
+	}
+
+	@Test
+	void selectsPluginsByTypeDelimiter() {
+
+		assertThat(registry.getPluginsFor(Integer.class)).containsExactly(integers, numbers, serializables, any);
+		assertThat(registry.getPluginsFor(Number.class)).containsExactly(numbers, serializables, any);
+		assertThat(registry.getPluginsFor(Object.class)).containsExactly(any);
+	}
+
+	@Test
+	void neverConsultsTypedPluginsForNonMatchingDelimiters() {
+
+		assertThat(registry.getPluginsFor("foo")).doesNotContain(numbers);
+		assertThat(numbers.invocations).isEmpty();
+
+		registry.getPluginFor(42L);
+		assertThat(numbers.invocations).containsExactly(42L);
+	}
+
+	@Test
+	void stillConsultsTypedPluginsForMatchingCandidates() {
+
+		var registry = OrderAwarePluginRegistry.<Object, ObjectPlugin> of(new PositiveIntegerPlugin(), any);
+
+		assertThat(registry.getPluginFor(-1)).hasValue(any);
+	}
+
+	interface ObjectPlugin extends Plugin<Object> {}
+
+	@Order(2)
+	static class NumberPlugin implements ObjectPlugin, TypedPlugin<Object> {
+
+		List<Object> invocations = new ArrayList<>();
+
+		@Override
+		public Set<Class<?>> getSupportedTypes() {
+			return Set.of(Number.class);
+		}
+
+		@Override
+		public boolean supports(Object delimiter) {
+
+			invocations.add(delimiter);
+
+			return TypedPlugin.super.supports(delimiter);
+		}
+	}
+
+	@Order(1)
+	static class IntegerPlugin implements ObjectPlugin, TypedPlugin<Object> {
+
+		@Override
+		public Set<Class<?>> getSupportedTypes() {
+			return Set.of(Integer.class);
+		}
+
+		@Override
+		public boolean supports(Object delimiter) {
+			return TypedPlugin.super.supports(delimiter);
+		}
+	}
+
+	@Order(3)
+	static class SerializablePlugin implements ObjectPlugin, TypedPlugin<Object> {
+
+		@Override
+		public Set<Class<?>> getSupportedTypes() {
+			return Set.of(Serializable.class);
+		}
+
+		@Override
+		public boolean supports(Object delimiter) {
+			return TypedPlugin.super.supports(delimiter);
+		}
+	}
+
+	static class PositiveIntegerPlugin extends IntegerPlugin {
+
+		@Override
+		public boolean supports(Object delimiter) {
+			return super.supports(delimiter) && ((Integer) delimiter) > 0;
+		}
+	}
+
+	@Order(4)
+	static class AnyPlugin implements ObjectPlugin {
+
+		@Override
+		public boolean supports(Object delimiter) {
+			return true;
+		}
+	}
+}
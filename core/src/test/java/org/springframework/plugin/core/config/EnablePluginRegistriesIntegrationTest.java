@@ -21,8 +21,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.plugin.core.InMemoryPluginRegistryObserver;
 import org.springframework.plugin.core.Plugin;
 import org.springframework.plugin.core.PluginRegistry;
 import org.springframework.plugin.core.SamplePlugin;
@@ -40,9 +42,14 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 class EnablePluginRegistriesIntegrationTest {
 
 	@Configuration
-	@EnablePluginRegistries({ SamplePlugin.class, AnotherPlugin.class })
+	@EnablePluginRegistries(value = { SamplePlugin.class, AnotherPlugin.class }, observer = "pluginRegistryObserver")
 	static class Config {
 
+		@Bean
+		public InMemoryPluginRegistryObserver pluginRegistryObserver() {
+			return new InMemoryPluginRegistryObserver();
+		}
+
 		@Bean
 		public SamplePluginImplementation pluginImpl() {
 			return new SamplePluginImplementation();
@@ -50,12 +57,66 @@ class EnablePluginRegistriesIntegrationTest {
 	}
 
 	@Autowired PluginRegistry<SamplePlugin, String> registry;
+	@Autowired InMemoryPluginRegistryObserver observer;
 
 	@Test
 	void registersPluginRegistries() {
 		assertThat(registry).isNotNull();
 	}
 
+	@Test
+	void reportsLookupsToConfiguredObserverUnderRegistryBeanName() {
+
+		registry.getPluginFor("FOO");
+
+		assertThat(observer.getMetrics("samplePluginRegistry")).hasValueSatisfying(it -> {
+			assertThat(it.getLookups()).isOne();
+		});
+	}
+
+	@Test
+	void registryInChildContextIncludesPluginsOfParentContext() {
+
+		try (var parent = new AnnotationConfigApplicationContext();
+				var child = new AnnotationConfigApplicationContext()) {
+
+			parent.registerBean("parentPlugin", SamplePluginImplementation.class);
+			parent.refresh();
+
+			child.setParent(parent);
+			child.register(ChildConfig.class);
+			child.refresh();
+
+			@SuppressWarnings("unchecked")
+			PluginRegistry<SamplePlugin, String> registry = child.getBean(PluginRegistry.class);
+
+			assertThat(registry.getPlugins()) //
+					.containsExactlyElementsOf(child.getBeanProvider(SamplePlugin.class).stream().toList()) //
+					.containsExactly(child.getBean(ChildPlugin.class), parent.getBean(SamplePluginImplementation.class));
+		}
+	}
+
+	@Configuration
+	@EnablePluginRegistries(SamplePlugin.class)
+	static class ChildConfig {
+
+		@Bean
+		ChildPlugin childPlugin() {
+			return new ChildPlugin();
+		}
+	}
+
+	static class ChildPlugin implements SamplePlugin {
+
+		@Override
+		public boolean supports(String delimiter) {
+			return true;
+		}
+
+		@Override
+		public void pluginMethod() {}
+	}
+
 	@Qualifier("myQualifier")
 	interface AnotherPlugin extends Plugin<String> {}
 
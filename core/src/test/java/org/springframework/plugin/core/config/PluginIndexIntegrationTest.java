@@ -0,0 +1,172 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core.config;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.SpringProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.plugin.core.Plugin;
+import org.springframework.plugin.core.PluginRegistry;
+import org.springframework.plugin.core.SamplePlugin;
+
+/**
+ * Integration tests for the usage of the {@link PluginIndex} by {@link EnablePluginRegistries}.
+ *
+ * @author Oliver Drotbohm
+ */
+class PluginIndexIntegrationTest {
+
+	@Test
+	void exposesOrdersOfIndexedImplementations() {
+
+		PluginIndex index = PluginIndex.load(getClass().getClassLoader());
+
+		assertThat(index.getOrders(IndexedPlugin.class)).containsOnly(entry(FirstIndexedPlugin.class.getName(), 3),
+				entry(SecondIndexedPlugin.class.getName(), Ordered.LOWEST_PRECEDENCE));
+	}
+
+	@Test
+	void doesNotExposeOrdersIfTypeIsNotIndexedOrOrderedAtRuntime() {
+
+		PluginIndex index = PluginIndex.load(getClass().getClassLoader());
+
+		assertThat(index.getOrders(SamplePlugin.class)).isNull();
+		assertThat(index.getOrders(OrderedPlugin.class)).isNull();
+	}
+
+	@Test
+	void registryOrdersIndexedAndUnindexedPluginsLikeWithoutIndex() {
+
+		List<Class<?>> indexed = getPluginTypes();
+
+		SpringProperties.setFlag(PluginIndex.IGNORE_INDEX);
+
+		try {
+			assertThat(getPluginTypes()).containsExactlyElementsOf(indexed);
+		} finally {
+			SpringProperties.setProperty(PluginIndex.IGNORE_INDEX, null);
+		}
+
+		assertThat(indexed).containsExactly(FirstUnindexedPlugin.class, SecondUnindexedPlugin.class,
+				FirstIndexedPlugin.class, SecondIndexedPlugin.class);
+	}
+
+	private static List<Class<?>> getPluginTypes() {
+
+		try (var context = new AnnotationConfigApplicationContext(Config.class)) {
+
+			@SuppressWarnings("unchecked")
+			PluginRegistry<IndexedPlugin, String> registry = context.getBean("indexedPluginRegistry",
+					PluginRegistry.class);
+
+			return registry.getPlugins().stream() //
+					.<Class<?>> map(AopProxyUtils::ultimateTargetClass) //
+					.toList();
+		}
+	}
+
+	@Configuration
+	@EnablePluginRegistries(IndexedPlugin.class)
+	static class Config {
+
+		@Bean
+		IndexedPlugin firstIndexedPlugin() {
+
+			var factory = new ProxyFactory(new FirstIndexedPlugin());
+			factory.addInterface(IndexedPlugin.class);
+
+			return (IndexedPlugin) factory.getProxy();
+		}
+
+		@Bean
+		SecondIndexedPlugin secondIndexedPlugin() {
+			return new SecondIndexedPlugin();
+		}
+
+		@Bean
+		IndexedPlugin secondUnindexedPlugin() {
+			return new SecondUnindexedPlugin();
+		}
+
+		@Bean
+		IndexedPlugin firstUnindexedPlugin() {
+			return new FirstUnindexedPlugin();
+		}
+	}
+
+	interface IndexedPlugin extends Plugin<String> {}
+
+	interface OrderedPlugin extends Plugin<String> {}
+
+	@Order(3)
+	static class FirstIndexedPlugin implements IndexedPlugin {
+
+		@Override
+		public boolean supports(String delimiter) {
+			return true;
+		}
+	}
+
+	static class SecondIndexedPlugin implements IndexedPlugin {
+
+		@Override
+		public boolean supports(String delimiter) {
+			return true;
+		}
+	}
+
+	// Compiled without the processor
+	@Order(2)
+	static class SecondUnindexedPlugin implements IndexedPlugin {
+
+		@Override
+		public boolean supports(String delimiter) {
+			return true;
+		}
+	}
+
+	@Order(1)
+	static class FirstUnindexedPlugin implements IndexedPlugin {
+
+		@Override
+		public boolean supports(String delimiter) {
+			return true;
+		}
+	}
+
+	static class OrderedPluginImplementation implements OrderedPlugin, Ordered {
+
+		@Override
+		public int getOrder() {
+			return 0;
+		}
+
+		@Override
+		public boolean supports(String delimiter) {
+			return true;
+		}
+	}
+}
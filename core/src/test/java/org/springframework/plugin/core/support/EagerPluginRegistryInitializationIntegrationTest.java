@@ -0,0 +1,85 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core.support;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.plugin.core.OrderAwarePluginRegistry;
+import org.springframework.plugin.core.SamplePlugin;
+import org.springframework.plugin.core.SamplePluginImplementation;
+import org.springframework.plugin.core.config.EnablePluginRegistries;
+
+/**
+ * Integration tests for the eager initialization of plugin registries.
+ *
+ * @author Oliver Drotbohm
+ */
+class EagerPluginRegistryInitializationIntegrationTest {
+
+	@Test
+	void initializesRegistryOnBootstrapExecutorOnceSingletonsAreInstantiated() throws Exception {
+
+		ExecutorService executor = Executors.newSingleThreadExecutor(it -> new Thread(it, "plugin-bootstrap"));
+		RecordingPlugin.THREAD.set(null);
+
+		try (var context = new AnnotationConfigApplicationContext()) {
+
+			context.getBeanFactory().setBootstrapExecutor(executor);
+			context.register(Config.class);
+			context.refresh();
+
+			@SuppressWarnings("unchecked")
+			OrderAwarePluginRegistry<SamplePlugin, String> registry = context.getBean(OrderAwarePluginRegistry.class);
+
+			assertThat(registry.whenReady().get(5, TimeUnit.SECONDS)).isSameAs(registry);
+			assertThat(RecordingPlugin.THREAD.get()).isEqualTo("plugin-bootstrap");
+			assertThat(registry.getPlugins()).hasSize(1);
+
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Configuration
+	@EnablePluginRegistries(value = SamplePlugin.class, eagerInitialization = true)
+	static class Config {
+
+		@Bean
+		@Lazy
+		RecordingPlugin recordingPlugin() {
+			return new RecordingPlugin();
+		}
+	}
+
+	static class RecordingPlugin extends SamplePluginImplementation {
+
+		static final AtomicReference<String> THREAD = new AtomicReference<>();
+
+		RecordingPlugin() {
+			THREAD.set(Thread.currentThread().getName());
+		}
+	}
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core.support;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.plugin.core.OrderAwarePluginRegistry;
+import org.springframework.plugin.core.PluginRegistry;
+import org.springframework.plugin.core.SamplePlugin;
+import org.springframework.plugin.core.SamplePluginImplementation;
+import org.springframework.plugin.core.SupportedDelimiters;
+import org.springframework.plugin.core.config.EnablePluginRegistries;
+
+/**
+ * Integration tests for the lazy instantiation of plugin beans declaring {@link SupportedDelimiters}.
+ *
+ * @author Oliver Drotbohm
+ */
+class LazyPluginIntegrationTest {
+
+	@Test
+	void instantiatesPluginBeanOnlyOnceLookupMatchesDeclaredDelimiter() {
+
+		HeavyPlugin.INSTANCES.set(0);
+
+		try (var context = new AnnotationConfigApplicationContext(Config.class)) {
+
+			@SuppressWarnings("unchecked")
+			PluginRegistry<SamplePlugin, String> registry = context.getBean(OrderAwarePluginRegistry.class);
+
+			assertThat(registry.getPlugins()).hasSize(2);
+			assertThat(registry.getPluginsFor("BAR")).isEmpty();
+			assertThat(HeavyPlugin.INSTANCES).hasValue(0);
+
+			assertThat(registry.getPluginsFor("BAZ")).hasSize(1) //
+					.allSatisfy(SamplePlugin::pluginMethod);
+			assertThat(HeavyPlugin.INSTANCES).hasValue(1);
+			assertThat(context.getBean(HeavyPlugin.class)).isNotNull();
+			assertThat(HeavyPlugin.INSTANCES).hasValue(1);
+		}
+	}
+
+	@Test
+	void containsPluginBeanOnceInstantiated() {
+
+		try (var context = new AnnotationConfigApplicationContext(Config.class)) {
+
+			@SuppressWarnings("unchecked")
+			PluginRegistry<SamplePlugin, String> registry = context.getBean(OrderAwarePluginRegistry.class);
+
+			assertThat(registry.getPlugins()).hasSize(2);
+
+			HeavyPlugin plugin = context.getBean(HeavyPlugin.class);
+
+			assertThat(registry.getPlugins()).noneMatch(it -> it == plugin || it.equals(plugin) || plugin.equals(it));
+			assertThat(registry.contains(plugin)).isTrue();
+			assertThat(registry.contains(new HeavyPlugin())).isFalse();
+		}
+	}
+
+	@Test
+	void instantiatesPluginBeansEagerlyByDefault() {
+
+		HeavyPlugin.INSTANCES.set(0);
+
+		try (var context = new AnnotationConfigApplicationContext(DefaultConfig.class)) {
+
+			assertThat(context.getBeansOfType(LazyPluginBeanFactoryPostProcessor.class)).isEmpty();
+			assertThat(HeavyPlugin.INSTANCES).hasValue(1);
+		}
+	}
+
+	@Test
+	void considersOrderOfLazyPluginBeans() {
+
+		HeavyPlugin.INSTANCES.set(0);
+
+		try (var context = new AnnotationConfigApplicationContext(Config.class)) {
+
+			@SuppressWarnings("unchecked")
+			PluginRegistry<SamplePlugin, String> registry = context.getBean(OrderAwarePluginRegistry.class);
+
+			assertThat(registry.getPluginFor("FOO")).hasValueSatisfying(it -> {
+				assertThat(it).isNotInstanceOf(SamplePluginImplementation.class);
+				assertThat(it.supports("FOO")).isTrue();
+			});
+			assertThat(HeavyPlugin.INSTANCES).hasValue(1);
+		}
+	}
+
+	@Configuration
+	@EnablePluginRegistries(value = SamplePlugin.class, lazyPlugins = true)
+	static class Config {
+
+		@Bean
+		SamplePluginImplementation samplePlugin() {
+			return new SamplePluginImplementation();
+		}
+
+		@Bean
+		HeavyPlugin heavyPlugin() {
+			return new HeavyPlugin();
+		}
+	}
+
+	@Configuration
+	@EnablePluginRegistries(SamplePlugin.class)
+	static class DefaultConfig {
+
+		@Bean
+		HeavyPlugin heavyPlugin() {
+			return new HeavyPlugin();
+		}
+	}
+
+	@Order(1)
+	@SupportedDelimiters(keys = { "FOO", "BAZ" })
+	static class HeavyPlugin implements SamplePlugin {
+
+		static final AtomicInteger INSTANCES = new AtomicInteger();
+
+		HeavyPlugin() {
+			INSTANCES.incrementAndGet();
+		}
+
+		@Override
+		public boolean supports(String delimiter) {
+			return true;
+		}
+
+		@Override
+		public void pluginMethod() {}
+	}
+}
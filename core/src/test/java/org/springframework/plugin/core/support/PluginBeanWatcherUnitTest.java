@@ -0,0 +1,148 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core.support;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.plugin.core.PluginRegistry;
+import org.springframework.plugin.core.SamplePlugin;
+import org.springframework.plugin.core.SamplePluginImplementation;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for {@link PluginBeanWatcher} and the live registries created by {@link PluginRegistryFactoryBean}.
+ *
+ * @author Oliver Drotbohm
+ */
+class PluginBeanWatcherUnitTest {
+
+	@Test
+	void debouncesBurstOfRegistrations() {
+
+		var factory = new DefaultListableBeanFactory();
+		var clock = new AtomicLong();
+		var reloads = new AtomicInteger();
+
+		var watcher = new PluginBeanWatcher(factory, SamplePlugin.class, reloads::incrementAndGet, Duration.ofNanos(10),
+				clock::get);
+
+		watcher.run();
+		assertThat(reloads.get()).isZero();
+
+		factory.registerSingleton("first", new SamplePluginImplementation());
+		watcher.run();
+
+		clock.addAndGet(5);
+		factory.registerSingleton("second", new SamplePluginImplementation());
+		watcher.run();
+
+		clock.addAndGet(5);
+		watcher.run();
+		assertThat(reloads.get()).isZero();
+
+		clock.addAndGet(5);
+		watcher.run();
+		assertThat(reloads.get()).isOne();
+
+		clock.addAndGet(100);
+		watcher.run();
+		assertThat(reloads.get()).isOne();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void factoryBeanCreatesRegistryPickingUpPluginsRegisteredLater() throws Exception {
+
+		try (var context = new GenericApplicationContext()) {
+
+			context.registerBean("registry", PluginRegistryFactoryBean.class, it -> {
+				it.getPropertyValues().add("type", SamplePlugin.class);
+				it.getPropertyValues().add("refreshInterval", Duration.ofMillis(10));
+			});
+			context.refresh();
+
+			PluginRegistry<SamplePlugin, String> registry = context.getBean("registry", PluginRegistry.class);
+
+			assertThat(registry.getPlugins()).isEmpty();
+
+			context.registerBean(SamplePluginImplementation.class);
+
+			long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+
+			while (registry.getPlugins().isEmpty() && System.nanoTime() < deadline) {
+				Thread.sleep(10);
+			}
+
+			assertThat(registry.getPlugins()).hasSize(1);
+		}
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void keepsConfiguredPluginBeanNamesFirstOnReload() throws Exception {
+
+		try (var context = new GenericApplicationContext()) {
+
+			context.registerBean("first", SamplePluginImplementation.class);
+			context.registerBean("second", SamplePluginImplementation.class);
+			context.registerBean("registry", PluginRegistryFactoryBean.class, it -> {
+				it.getPropertyValues().add("type", SamplePlugin.class);
+				it.getPropertyValues().add("pluginBeanNames", new String[] { "second", "first" });
+				it.getPropertyValues().add("refreshInterval", Duration.ofMillis(10));
+			});
+			context.refresh();
+
+			PluginRegistry<SamplePlugin, String> registry = context.getBean("registry", PluginRegistry.class);
+
+			context.registerBean("third", SamplePluginImplementation.class);
+
+			long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+
+			while (registry.getPlugins().size() < 3 && System.nanoTime() < deadline) {
+				Thread.sleep(10);
+			}
+
+			assertThat(registry.getPlugins()).containsExactly(context.getBean("second", SamplePlugin.class),
+					context.getBean("first", SamplePlugin.class), context.getBean("third", SamplePlugin.class));
+		}
+	}
+
+	@Test
+	void doesNotWatchPluginBeansByDefault() {
+
+		var factoryBean = new PluginRegistryFactoryBean<SamplePlugin, String>();
+		factoryBean.setType(SamplePlugin.class);
+		factoryBean.setBeanFactory(new DefaultListableBeanFactory());
+		factoryBean.getObject();
+
+		assertThat((List<?>) ReflectionTestUtils.getField(factoryBean, "watchers")).isEmpty();
+	}
+
+	@Test
+	void rejectsNonPositiveInterval() {
+
+		assertThatIllegalArgumentException().isThrownBy(() -> new PluginBeanWatcher(new DefaultListableBeanFactory(),
+				SamplePlugin.class, () -> {}, Duration.ZERO));
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.core.support;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.generate.ClassNameGenerator;
+import org.springframework.aot.generate.DefaultGenerationContext;
+import org.springframework.aot.generate.GeneratedFiles.Kind;
+import org.springframework.aot.generate.InMemoryGeneratedFiles;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.aot.ApplicationContextAotGenerator;
+import org.springframework.core.annotation.Order;
+import org.springframework.javapoet.ClassName;
+import org.springframework.plugin.core.SamplePlugin;
+import org.springframework.plugin.core.SamplePluginImplementation;
+import org.springframework.plugin.core.SupportedDelimiters;
+import org.springframework.plugin.core.config.EnablePluginRegistries;
+
+/**
+ * Unit tests for {@link PluginRegistryBeanRegistrationAotProcessor}.
+ *
+ * @author Oliver Drotbohm
+ */
+class PluginRegistryBeanRegistrationAotProcessorUnitTest {
+
+	@Test
+	void resolvesPluginBeanNamesInDiscoveryOrder() {
+
+		var beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerBeanDefinition("unordered", new RootBeanDefinition(SamplePluginImplementation.class));
+		beanFactory.registerBeanDefinition("second", new RootBeanDefinition(SecondPlugin.class));
+		beanFactory.registerBeanDefinition("first", new RootBeanDefinition(FirstPlugin.class));
+
+		assertThat(PluginRegistryBeanRegistrationAotProcessor.getPluginBeanNames(beanFactory, SamplePlugin.class,
+				List.of())).containsExactly("unordered", "second", "first");
+		assertThat(PluginRegistryBeanRegistrationAotProcessor.getPluginBeanNames(beanFactory, SamplePlugin.class,
+				List.of(SecondPlugin.class))).containsExactly("unordered", "first");
+	}
+
+	@Test
+	void emitsPluginBeanNamesIntoGeneratedBeanDefinitions() {
+
+		var context = new AnnotationConfigApplicationContext();
+		context.register(Config.class);
+
+		var files = new InMemoryGeneratedFiles();
+		var generationContext = new DefaultGenerationContext(new ClassNameGenerator(ClassName.get(Config.class)), files);
+
+		new ApplicationContextAotGenerator().processAheadOfTime(context, generationContext);
+		generationContext.writeGeneratedContent();
+
+		assertThat(RuntimeHintsPredicates.proxies().forInterfaces(LazyPlugin.getProxyInterfaces(FirstPlugin.class)))
+				.accepts(generationContext.getRuntimeHints());
+		assertThat(files.getGeneratedFiles(Kind.SOURCE).values()).anySatisfy(it -> {
+			assertThat(read(it.getInputStream().readAllBytes())) //
+					.contains("\"pluginBeanNames\"") //
+					.contains("\"second\", \"first\"");
+		});
+	}
+
+	@Test
+	void usesConfiguredPluginBeanNamesInsteadOfDiscovery() {
+
+		var beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerSingleton("first", new FirstPlugin());
+		beanFactory.registerSingleton("second", new SecondPlugin());
+
+		var factoryBean = new PluginRegistryFactoryBean<SamplePlugin, String>();
+		factoryBean.setType(SamplePlugin.class);
+		factoryBean.setBeanFactory(beanFactory);
+		factoryBean.setRefreshInterval(Duration.ZERO);
+		factoryBean.setPluginBeanNames(new String[] { "second" });
+
+		assertThat(factoryBean.getObject().getPlugins()).containsExactly(beanFactory.getBean(SecondPlugin.class));
+	}
+
+	@Test
+	void ordersPluginsOfConfiguredPluginBeanNamesAtRuntime() {
+
+		var beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerSingleton("second", new SecondPlugin());
+		beanFactory.registerSingleton("first", new FirstPlugin());
+
+		var factoryBean = new PluginRegistryFactoryBean<SamplePlugin, String>();
+		factoryBean.setType(SamplePlugin.class);
+		factoryBean.setBeanFactory(beanFactory);
+		factoryBean.setRefreshInterval(Duration.ZERO);
+		factoryBean.setPluginBeanNames(new String[] { "second", "first" });
+
+		assertThat(factoryBean.getObject().getPlugins()).containsExactly(beanFactory.getBean(FirstPlugin.class),
+				beanFactory.getBean(SecondPlugin.class));
+	}
+
+	private static String read(byte[] bytes) {
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	@Configuration
+	@EnablePluginRegistries(SamplePlugin.class)
+	static class Config {
+
+		@Bean
+		SecondPlugin second() {
+			return new SecondPlugin();
+		}
+
+		@Bean
+		FirstPlugin first() {
+			return new FirstPlugin();
+		}
+	}
+
+	@Order(1)
+	@SupportedDelimiters(keys = "FOO")
+	static class FirstPlugin extends SamplePluginImplementation {}
+
+	@Order(2)
+	static class SecondPlugin extends SamplePluginImplementation {}
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Annotation processor recording all implementations of plugin interfaces compiled in a compilation unit in
+ * {@value #INDEX_LOCATION}. The index is a properties file, keyed by the binary name of the plugin interface, listing
+ * the binary names of the implementations sorted by the values of their {@code @Order} or {@code @Priority}
+ * declarations. Implementations declaring an order are suffixed with {@code :} and the order value, implementations
+ * implementing {@code Ordered} with {@code :dynamic}, as their order is only known at runtime. Only interfaces extending
+ * {@code org.springframework.plugin.core.Plugin} that are not part of Spring Plugin itself are considered.
+ *
+ * @author Oliver Drotbohm
+ * @since 4.2
+ */
+@SupportedAnnotationTypes("*")
+public class PluginIndexProcessor extends AbstractProcessor {
+
+	/**
+	 * The location of the index generated.
+	 */
+	public static final String INDEX_LOCATION = "META-INF/spring-plugin.index";
+
+	static final String DYNAMIC = "dynamic";
+
+	private static final String PLUGIN = "org.springframework.plugin.core.Plugin";
+	private static final String PLUGIN_PACKAGE = "org.springframework.plugin.core";
+	private static final String ORDERED = "org.springframework.core.Ordered";
+	private static final Set<String> ORDER_ANNOTATIONS = Set.of("org.springframework.core.annotation.Order",
+			"jakarta.annotation.Priority", "javax.annotation.Priority");
+
+	private final Map<String, Map<String, Entry>> index = new TreeMap<>();
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.annotation.processing.AbstractProcessor#getSupportedSourceVersion()
+	 */
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.annotation.processing.AbstractProcessor#process(java.util.Set, javax.annotation.processing.RoundEnvironment)
+	 */
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+		@Nullable
+		TypeElement plugin = processingEnv.getElementUtils().getTypeElement(PLUGIN);
+
+		if (plugin == null) {
+			return false;
+		}
+
+		if (roundEnv.processingOver()) {
+			writeIndex();
+			return false;
+		}
+
+		Deque<Element> elements = new ArrayDeque<>(roundEnv.getRootElements());
+
+		while (!elements.isEmpty()) {
+
+			Element element = elements.pop();
+
+			if (element instanceof TypeElement type) {
+				elements.addAll(type.getEnclosedElements());
+				record(type, plugin);
+			}
+		}
+
+		return false;
+	}
+
+	private void record(TypeElement type, TypeElement plugin) {
+
+		if ((type.getKind() != ElementKind.CLASS && type.getKind() != ElementKind.RECORD
+				&& type.getKind() != ElementKind.ENUM) || type.getModifiers().contains(Modifier.ABSTRACT)) {
+			return;
+		}
+
+		Set<String> interfaces = getPluginInterfaces(type.asType(), plugin);
+
+		if (interfaces.isEmpty()) {
+			return;
+		}
+
+		var name = processingEnv.getElementUtils().getBinaryName(type).toString();
+		var entry = new Entry(name, isOrdered(type) ? null : getOrder(type));
+
+		for (String candidate : interfaces) {
+			index.computeIfAbsent(candidate, __ -> new TreeMap<>()).put(name, entry);
+		}
+	}
+
+	private Set<String> getPluginInterfaces(TypeMirror type, TypeElement plugin) {
+
+		var types = processingEnv.getTypeUtils();
+		var elements = processingEnv.getElementUtils();
+		var pluginType = types.erasure(plugin.asType());
+
+		Set<String> result = new HashSet<>();
+		Deque<TypeMirror> candidates = new ArrayDeque<>(types.directSupertypes(type));
+
+		while (!candidates.isEmpty()) {
+
+			TypeMirror candidate = candidates.pop();
+
+			if (!(candidate instanceof DeclaredType declared)
+					|| !(declared.asElement() instanceof TypeElement element)) {
+				continue;
+			}
+
+			candidates.addAll(types.directSupertypes(candidate));
+
+			if (element.getKind() == ElementKind.INTERFACE && types.isAssignable(types.erasure(candidate), pluginType)
+					&& !elements.getPackageOf(element).getQualifiedName().contentEquals(PLUGIN_PACKAGE)) {
+				result.add(elements.getBinaryName(element).toString());
+			}
+		}
+
+		return result;
+	}
+
+	private boolean isOrdered(TypeElement type) {
+
+		@Nullable
+		TypeElement ordered = processingEnv.getElementUtils().getTypeElement(ORDERED);
+		var types = processingEnv.getTypeUtils();
+
+		return ordered != null && types.isAssignable(types.erasure(type.asType()), types.erasure(ordered.asType()));
+	}
+
+	private int getOrder(TypeElement type) {
+
+		// Order annotations are looked up in the type hierarchy, like OrderUtils does at runtime
+		for (@Nullable TypeElement current = type; current != null; current = getSuperclass(current)) {
+
+			for (AnnotationMirror annotation : current.getAnnotationMirrors()) {
+
+				var annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+
+				if (!ORDER_ANNOTATIONS.contains(annotationType.getQualifiedName().toString())) {
+					continue;
+				}
+
+				for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : processingEnv
+						.getElementUtils().getElementValuesWithDefaults(annotation).entrySet()) {
+
+					if (value.getKey().getSimpleName().contentEquals("value")
+							&& value.getValue().getValue() instanceof Integer order) {
+						return order;
+					}
+				}
+			}
+		}
+
+		return Integer.MAX_VALUE;
+	}
+
+	private static @Nullable TypeElement getSuperclass(TypeElement type) {
+
+		TypeMirror superclass = type.getSuperclass();
+
+		return superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+	}
+
+	private void writeIndex() {
+
+		if (index.isEmpty()) {
+			return;
+		}
+
+		try {
+
+			FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+
+			try (Writer writer = file.openWriter()) {
+
+				for (Map.Entry<String, Map<String, Entry>> entry : index.entrySet()) {
+
+					List<Entry> implementations = entry.getValue().values().stream() //
+							.sorted(Comparator.comparingInt(Entry::getSortOrder)) //
+							.toList();
+
+					writer.write(entry.getKey() + "=" + implementations.stream() //
+							.map(Entry::toString) //
+							.collect(Collectors.joining(",")) + "\n");
+				}
+			}
+
+		} catch (IOException o_O) {
+			processingEnv.getMessager().printMessage(Kind.ERROR, "Could not write plugin index: " + o_O.getMessage());
+		}
+	}
+
+	/**
+	 * An implementation recorded in the index along with its order, {@literal null} if it's only known at runtime.
+	 *
+	 * @author Oliver Drotbohm
+	 */
+	private record Entry(String name, @Nullable Integer order) {
+
+		int getSortOrder() {
+			return order == null ? Integer.MAX_VALUE : order;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Record#toString()
+		 */
+		@Override
+		public String toString() {
+			return order == null ? name + ":" + DYNAMIC : order == Integer.MAX_VALUE ? name : name + ":" + order;
+		}
+	}
+}
@@ -0,0 +1,6 @@
+/**
+ * Annotation processor generating an index of the plugin implementations of a compilation unit, so that plugin
+ * registries can be set up without discovering and sorting the plugins at runtime.
+ */
+@org.jspecify.annotations.NullMarked
+package org.springframework.plugin.processor;
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2008-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.plugin.processor;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject.Kind;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.annotation.Order;
+import org.springframework.plugin.core.Plugin;
+
+/**
+ * Unit tests for {@link PluginIndexProcessor}.
+ *
+ * @author Oliver Drotbohm
+ */
+class PluginIndexProcessorUnitTest {
+
+	@TempDir Path output;
+
+	@Test
+	void recordsImplementationsOfPluginInterfacesByOrder() throws Exception {
+
+		Properties index = compile(plugin(), //
+				source("sample.First", "@org.springframework.core.annotation.Order(1) class First extends Base {}"),
+				source("sample.Second", "@org.springframework.core.annotation.Order(-5) class Second extends Base {}"),
+				source("sample.Third", "public class Third extends Base {}"),
+				source("sample.Base", "public abstract class Base implements MyPlugin {"
+						+ " public boolean supports(String delimiter) { return true; } }"));
+
+		assertThat(index).containsOnlyKeys("sample.MyPlugin");
+		assertThat(index.getProperty("sample.MyPlugin")).isEqualTo("sample.Second:-5,sample.First:1,sample.Third");
+	}
+
+	@Test
+	void marksImplementationsOfOrderedAsDynamic() throws Exception {
+
+		Properties index = compile(plugin(), //
+				source("sample.Outer", "public class Outer {" //
+						+ " public static class Inner implements MyPlugin, org.springframework.core.Ordered {"
+						+ " public boolean supports(String delimiter) { return true; }"
+						+ " public int getOrder() { return 0; } } }"));
+
+		assertThat(index.getProperty("sample.MyPlugin")).isEqualTo("sample.Outer$Inner:dynamic");
+	}
+
+	@Test
+	void doesNotWriteIndexWithoutPluginImplementations() throws Exception {
+
+		compile(source("sample.Foo", "public class Foo {}"));
+
+		assertThat(output.resolve(PluginIndexProcessor.INDEX_LOCATION)).doesNotExist();
+	}
+
+	private Properties compile(SimpleJavaFileObject... sources) throws IOException, URISyntaxException {
+
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+		String classpath = String.join(File.pathSeparator, getLocation(Plugin.class), getLocation(Order.class));
+		List<String> options = List.of("-classpath", classpath, "-d", output.toString(), "-proc:only");
+
+		CompilationTask task = compiler.getTask(null, null, null, options, null, Stream.of(sources).toList());
+		task.setProcessors(List.of(new PluginIndexProcessor()));
+
+		assertThat(task.call()).isTrue();
+
+		Properties properties = new Properties();
+		Path index = output.resolve(PluginIndexProcessor.INDEX_LOCATION);
+
+		if (Files.exists(index)) {
+			try (var reader = Files.newBufferedReader(index)) {
+				properties.load(reader);
+			}
+		}
+
+		return properties;
+	}
+
+	private static String getLocation(Class<?> type) throws URISyntaxException {
+		return Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+	}
+
+	private static SimpleJavaFileObject plugin() {
+		return source("sample.MyPlugin",
+				"public interface MyPlugin extends org.springframework.plugin.core.Plugin<String> {}");
+	}
+
+	private static SimpleJavaFileObject source(String name, String body) {
+
+		int separator = name.lastIndexOf('.');
+		String source = "package " + name.substring(0, separator) + "; " + body;
+
+		return new SimpleJavaFileObject(URI.create("string:///" + name.replace('.', '/') + Kind.SOURCE.extension),
+				Kind.SOURCE) {
+
+			@Override
+			public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+				return source;
+			}
+		};
+	}
+}